@@ -0,0 +1,39 @@
+-- Compares substring searches on emails with and without the trigram index of V3__add_applicant_email_trigram_index.sql.
+-- Seed one property with 1M applicants first:
+--   psql -h localhost -U test applications_db -v properties=1 -v applicants_per_property=1000000 -f seed-applicants.sql
+--
+-- usage: psql -h localhost -U test applications_db -f applicant-email-search.sql
+
+-- before: every search scans all applicants of the property
+BEGIN;
+DROP INDEX idx_applicant_property_email_trigram;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+  AND a.email LIKE '%-1-4242%'
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+  AND a.email LIKE '%-1-424242@%'
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
+ROLLBACK;
+
+-- after: the trigram index only returns the (candidate) matches
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+  AND a.email LIKE '%-1-4242%'
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+  AND a.email LIKE '%-1-424242@%'
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
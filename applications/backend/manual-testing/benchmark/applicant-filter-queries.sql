@@ -0,0 +1,49 @@
+-- Compares the old catch-all filter query (without indexes) with the queries built from the given filters only
+-- (with the indexes of V2__add_applicant_listing_indexes.sql). Run it against a seeded database (see seed-applicants.sql)
+-- and compare the "Execution Time" of the plans.
+--
+-- usage: psql -h localhost -U test applications_db -f applicant-filter-queries.sql
+
+-- before: one generic plan for every filter combination (that's what the JDBC driver uses after some executions)
+BEGIN;
+DROP INDEX idx_applicant_property_creation;
+DROP INDEX idx_applicant_property_status_creation;
+SET LOCAL plan_cache_mode = force_generic_plan;
+
+PREPARE catch_all(uuid, int, int, boolean, text) AS
+    SELECT * FROM applicant a
+    WHERE a.property_id = $1
+      AND ($2::int IS NULL OR a.status = $2)
+      AND ($3::int IS NULL OR a.number_of_persons = $3)
+      AND ($4::boolean IS NULL OR a.wbs_present = $4)
+      AND ($5::text IS NULL OR a.email LIKE '%' || $5 || '%')
+    ORDER BY a.creation_timestamp DESC;
+
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE catch_all(md5('property-1')::uuid, NULL, NULL, NULL, NULL);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE catch_all(md5('property-1')::uuid, 1, NULL, NULL, NULL);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE catch_all(md5('property-1')::uuid, 1, 3, true, NULL);
+DEALLOCATE catch_all;
+ROLLBACK;
+
+-- after: only the given filters end up in the query, one page at a time
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+  AND a.status = 1
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM applicant a
+WHERE a.property_id = md5('property-1')::uuid
+  AND a.status = 1
+  AND a.number_of_persons = 3
+  AND a.wbs_present = true
+ORDER BY a.creation_timestamp DESC, a.id DESC
+LIMIT 101;
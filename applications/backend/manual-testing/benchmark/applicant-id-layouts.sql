@@ -0,0 +1,73 @@
+-- Compares the insert throughput and the index sizes of the former applicant ids (random UUIDs as varchar)
+-- with the current ones (time-ordered UUIDs as native uuid, see ApplicantIds), on copies of the id layout:
+-- each table gets its primary key and the listing index of V2__add_applicant_listing_indexes.sql.
+-- The rows are inserted in batches (like the app does), \timing prints the time per batch.
+-- Needs postgres 13+ (gen_random_uuid), doesn't touch the applicant table.
+--
+-- usage: psql -h localhost -U test applications_db -v rows=1000000 -f applicant-id-layouts.sql
+
+\if :{?rows}
+\else
+    \set rows 1000000
+\endif
+\set batch_size 10000
+
+-- the version 7 layout of ApplicantIds: 48 bits milliseconds, then (besides version and variant bits) random
+CREATE FUNCTION pg_temp.uuid_v7(created TIMESTAMPTZ) RETURNS UUID AS $$
+    SELECT encode(set_bit(set_bit(
+                   overlay(uuid_send(gen_random_uuid())
+                           PLACING substring(int8send(floor(extract(EPOCH FROM created) * 1000)::BIGINT) FROM 3)
+                           FROM 1 FOR 6),
+                   52, 1), 53, 1), 'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS id_layout_varchar, id_layout_uuid_v7;
+CREATE TABLE id_layout_varchar
+(
+    id                 VARCHAR(255) NOT NULL PRIMARY KEY,
+    property_id        UUID,
+    creation_timestamp TIMESTAMP
+);
+CREATE INDEX ON id_layout_varchar (property_id, creation_timestamp DESC, id DESC);
+CREATE TABLE id_layout_uuid_v7
+(
+    id                 UUID NOT NULL PRIMARY KEY,
+    property_id        UUID,
+    creation_timestamp TIMESTAMP
+);
+CREATE INDEX ON id_layout_uuid_v7 (property_id, creation_timestamp DESC, id DESC);
+
+-- the rows of both tables are created in the same order (oldest first, spread over 100 properties)
+\timing on
+SELECT format('INSERT INTO id_layout_varchar '
+                  'SELECT gen_random_uuid()::text, md5(''property-'' || r %% 100)::uuid, '
+                  'now() - ((%1$s - r) || '' milliseconds'')::interval '
+                  'FROM generate_series(%2$s, %3$s) r',
+              :rows, batch, least(batch + :batch_size - 1, :rows))
+FROM generate_series(1, :rows, :batch_size) batch
+\gexec
+SELECT format('INSERT INTO id_layout_uuid_v7 '
+                  'SELECT pg_temp.uuid_v7(now() - ((%1$s - r) || '' milliseconds'')::interval), '
+                  'md5(''property-'' || r %% 100)::uuid, '
+                  'now() - ((%1$s - r) || '' milliseconds'')::interval '
+                  'FROM generate_series(%2$s, %3$s) r',
+              :rows, batch, least(batch + :batch_size - 1, :rows))
+FROM generate_series(1, :rows, :batch_size) batch
+\gexec
+\timing off
+
+-- random keys split pages all over the primary key (leaving them half empty), time-ordered keys fill them up
+SELECT relname                                                                         AS table,
+       pg_size_pretty(pg_relation_size(oid))                                           AS table_size,
+       pg_size_pretty(pg_relation_size((relname || '_pkey')::regclass))                AS primary_key_size,
+       pg_size_pretty(pg_indexes_size(oid) - pg_relation_size((relname || '_pkey')::regclass)) AS listing_index_size
+FROM pg_class
+WHERE relname IN ('id_layout_varchar', 'id_layout_uuid_v7');
+
+-- lookups by id (like GET /applicants/{id}) - compare the buffers that had to be read
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM id_layout_varchar WHERE id = (SELECT id FROM id_layout_varchar OFFSET :rows / 2 LIMIT 1);
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM id_layout_uuid_v7 WHERE id = (SELECT id FROM id_layout_uuid_v7 OFFSET :rows / 2 LIMIT 1);
+
+DROP TABLE id_layout_varchar, id_layout_uuid_v7;
@@ -0,0 +1,31 @@
+-- Seeds the applicant table with :properties x :applicants_per_property applicants.
+-- The property ids are deterministic (md5('property-<n>')), so the benchmark queries can refer to them.
+--
+-- usage: psql -h localhost -U test applications_db -v properties=100 -v applicants_per_property=10000 -f seed-applicants.sql
+
+\if :{?properties}
+\else
+    \set properties 100
+\endif
+\if :{?applicants_per_property}
+\else
+    \set applicants_per_property 10000
+\endif
+
+INSERT INTO applicant (id, property_id, email, first_name, last_name, creation_source, creation_timestamp,
+                       status, wbs_present, pets, number_of_persons)
+SELECT gen_random_uuid(),
+       md5('property-' || p)::uuid,
+       'applicant-' || p || '-' || a || '@example.com',
+       'First' || a,
+       'Last' || a,
+       a % 2,
+       now() - (a || ' seconds')::interval,
+       a % 3,
+       a % 4 = 0,
+       a % 5 = 0,
+       1 + a % 5
+FROM generate_series(1, :properties) p,
+     generate_series(1, :applicants_per_property) a;
+
+ANALYZE applicant;
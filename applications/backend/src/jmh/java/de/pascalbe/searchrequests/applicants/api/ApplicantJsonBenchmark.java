@@ -0,0 +1,60 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+//  reading the request bodies of the store endpoints (from bytes, like the message converter does),
+//  with reflective accessors vs. the ones generated by the Blackbird module
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicantJsonBenchmark {
+
+    @Param({"reflection", "blackbird"})
+    private String binding;
+
+    private ObjectReader externalApplicantReader;
+    private ObjectReader manualApplicantReader;
+    private byte[] externalApplicantJson;
+    private byte[] manualApplicantJson;
+
+    @Setup
+    public void setUp() {
+        var objectMapper = BenchmarkFixtures.objectMapper();
+        if (binding.equals("blackbird")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        externalApplicantReader = objectMapper.readerFor(ExternalApplicant.class);
+        manualApplicantReader = objectMapper.readerFor(ManualApplicant.class);
+        externalApplicantJson = BenchmarkFixtures.EXTERNAL_APPLICANT_JSON.getBytes(StandardCharsets.UTF_8);
+        manualApplicantJson = BenchmarkFixtures.MANUAL_APPLICANT_JSON.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ExternalApplicant readExternalApplicant() throws IOException {
+        return externalApplicantReader.readValue(externalApplicantJson);
+    }
+
+    @Benchmark
+    public ManualApplicant readManualApplicant() throws IOException {
+        return manualApplicantReader.readValue(manualApplicantJson);
+    }
+}
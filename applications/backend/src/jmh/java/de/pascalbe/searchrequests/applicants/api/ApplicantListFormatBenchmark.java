@@ -0,0 +1,128 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantField;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+//  writing a listing (of summaries) in the formats clients can ask for, optionally gzipped like Tomcat does it.
+//  The bytes on the wire per listing are printed once per fork (they don't change between invocations).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicantListFormatBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    @Param({"json", "ndjson", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private List<ApplicantSummary> applicants;
+    private ObjectWriter listWriter;
+    private NdjsonHttpMessageConverter ndjsonConverter;
+
+    @Setup
+    public void setUp() throws IOException {
+        applicants = BenchmarkFixtures.summaries(BenchmarkFixtures.applicants(size), ApplicantField.SUMMARY);
+        var objectMapper = objectMapper();
+        listWriter = objectMapper.writerFor(new TypeReference<List<ApplicantSummary>>() {
+        });
+        ndjsonConverter = new NdjsonHttpMessageConverter(objectMapper);
+
+        var countingStream = new CountingOutputStream();
+        write(countingStream);
+        System.out.printf("%n%s, %s compression: %d bytes per listing of %d applicants%n",
+                format, compression, countingStream.count, size);
+    }
+
+    @Benchmark
+    public void writeListing() throws IOException {
+        write(OutputStream.nullOutputStream());
+    }
+
+    private void write(OutputStream target) throws IOException {
+        var outputStream = compression.equals("gzip") ? new GZIPOutputStream(target) : target;
+        if (format.equals("ndjson")) {
+            var message = new HttpOutputMessage() {
+                private final HttpHeaders headers = new HttpHeaders();
+
+                @Override
+                public OutputStream getBody() {
+                    return outputStream;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            };
+            ndjsonConverter.write(applicants, null, message);
+        } else {
+            listWriter.writeValue(outputStream, applicants);
+        }
+        outputStream.close();
+    }
+
+    private ObjectMapper objectMapper() {
+        JsonFactory factory;
+        switch (format) {
+            case "cbor":
+                factory = new CBORFactory();
+                break;
+            case "smile":
+                factory = new SmileFactory();
+                break;
+            default:
+                factory = new JsonFactory();
+        }
+        var objectMapper = BenchmarkFixtures.objectMapper(factory);
+        objectMapper.registerModule(new BlackbirdModule());
+        return objectMapper;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantField;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//  writing a listing response - to a stream that drops the bytes, so that only the serialization is measured.
+//  "full" writes the whole applicants (what listings returned before), "summary" the default fields of listings.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicantListSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"reflection", "blackbird"})
+    private String binding;
+
+    @Param({"full", "summary"})
+    private String representation;
+
+    private ObjectWriter applicantsWriter;
+    private List<?> applicants;
+
+    @Setup
+    public void setUp() {
+        var objectMapper = BenchmarkFixtures.objectMapper();
+        if (binding.equals("blackbird")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        if (representation.equals("summary")) {
+            applicantsWriter = objectMapper.writerFor(new TypeReference<List<ApplicantSummary>>() {
+            });
+            applicants = BenchmarkFixtures.summaries(BenchmarkFixtures.applicants(size), ApplicantField.SUMMARY);
+        } else {
+            applicantsWriter = objectMapper.writerFor(new TypeReference<List<Applicant>>() {
+            });
+            applicants = BenchmarkFixtures.applicants(size);
+        }
+    }
+
+    @Benchmark
+    public void writeApplicants() throws IOException {
+        applicantsWriter.writeValue(OutputStream.nullOutputStream(), applicants);
+    }
+}
@@ -0,0 +1,40 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//  mapping a request body to the entity (including the generated id)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicantMappingBenchmark {
+
+    private UUID propertyId;
+    private ExternalApplicant externalApplicant;
+
+    @Setup
+    public void setUp() {
+        propertyId = UUID.randomUUID();
+        externalApplicant = BenchmarkFixtures.externalApplicant("john.doe@example.com");
+    }
+
+    @Benchmark
+    public Applicant mapExternalApplicant() {
+        return ApplicantsController.toApplicant(propertyId, externalApplicant);
+    }
+}
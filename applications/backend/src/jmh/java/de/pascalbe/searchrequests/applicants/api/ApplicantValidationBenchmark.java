@@ -0,0 +1,71 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+//  the whole Bean Validation of a request body vs. only checking its email (with the former regex / EmailValidator)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicantValidationBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$");
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ExternalApplicant validApplicant;
+    private ExternalApplicant invalidApplicant;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validApplicant = BenchmarkFixtures.externalApplicant("john.doe@example.com");
+        invalidApplicant = BenchmarkFixtures.externalApplicant("john.doe(at)example.com");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ExternalApplicant>> validateValidApplicant() {
+        return validator.validate(validApplicant);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ExternalApplicant>> validateInvalidApplicant() {
+        return validator.validate(invalidApplicant);
+    }
+
+    @Benchmark
+    public boolean matchEmailPattern() {
+        return EMAIL_PATTERN.matcher(validApplicant.getEmail()).matches();
+    }
+
+    @Benchmark
+    public boolean validateEmail() {
+        return EmailValidator.isValidEmail(validApplicant.getEmail());
+    }
+}
@@ -0,0 +1,103 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantField;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSummary;
+import de.pascalbe.searchrequests.applicants.domain.CreationSource;
+import de.pascalbe.searchrequests.applicants.domain.Salutation;
+import de.pascalbe.searchrequests.applicants.domain.Status;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+//  TO NOTE: the object mapper is configured like the one of the app (modules found on the classpath,
+//      dates as ISO strings), without starting the app.
+final class BenchmarkFixtures {
+
+    static final String EXTERNAL_APPLICANT_JSON = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"applicantComment\": \"I would love to live there\", " +
+            "\"salutation\": \"MR\", " +
+            "\"wbsPresent\": true, " +
+            "\"pets\": false, " +
+            "\"numberOfPersons\": 3, " +
+            "\"earliestMoveInDate\": \"2024-01-01\"" +
+            "}";
+
+    static final String MANUAL_APPLICANT_JSON = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"userComment\": \"Called on Monday\", " +
+            "\"salutation\": \"MR\"" +
+            "}";
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    //  e.g. a CBORFactory / SmileFactory for the binary formats
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return new Jackson2ObjectMapperBuilder()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static ExternalApplicant externalApplicant(String email) {
+        var externalApplicant = new ExternalApplicant();
+        externalApplicant.setEmail(email);
+        externalApplicant.setFirstName("John");
+        externalApplicant.setLastName("Doe");
+        externalApplicant.setApplicantComment("I would love to live there");
+        externalApplicant.setSalutation(Salutation.MR);
+        externalApplicant.setWbsPresent(true);
+        externalApplicant.setNumberOfPersons(3);
+        externalApplicant.setEarliestMoveInDate(LocalDate.of(2024, 1, 1));
+        return externalApplicant;
+    }
+
+    static List<Applicant> applicants(int size) {
+        var propertyId = UUID.randomUUID();
+        var now = Instant.now();
+        var applicants = new ArrayList<Applicant>(size);
+        for (var i = 0; i < size; i++) {
+            var applicant = ApplicantsController.toApplicant(propertyId, externalApplicant("applicant-" + i + "@example.com"));
+            applicant.setCreationSource(i % 2 == 0 ? CreationSource.PORTAL : CreationSource.MANUAL);
+            applicant.setStatus(Status.values()[i % Status.values().length]);
+            applicant.setCreationTimestamp(now.minusSeconds(i));
+            applicant.setLastModifiedTimestamp(now.minusSeconds(i));
+            applicants.add(applicant);
+        }
+        return applicants;
+    }
+
+    //  what the listing query would have loaded for the given fields
+    static List<ApplicantSummary> summaries(List<Applicant> applicants, Set<ApplicantField> fields) {
+        var selectedFields = List.copyOf(fields);
+        var summaries = new ArrayList<ApplicantSummary>(applicants.size());
+        for (var applicant : applicants) {
+            var values = new Object[selectedFields.size()];
+            for (var i = 0; i < values.length; i++) {
+                values[i] = PropertyAccessorFactory.forBeanPropertyAccess(applicant)
+                        .getPropertyValue(selectedFields.get(i).getAttributeName());
+            }
+            summaries.add(new ApplicantSummary(applicant.getId(), applicant.getCreationTimestamp(), selectedFields, values));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,86 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//  the first page of a filtered listing of one property via the bitmap index vs. scanning all its applicants
+//  (newest first) - the latter is roughly what the DB does when no index is selective enough
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicantPropertyIndexBenchmark {
+
+    private static final int LIMIT = 50;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    //  "common" matches about 1 of 3 applicants, "rare" about 1 of 60
+    @Param({"common", "rare"})
+    private String selectivity;
+
+    private ApplicantPropertyIndex index;
+    private List<ApplicantIndexEntry> newestFirst;
+    private ApplicantFilter filter;
+
+    @Setup
+    public void setUp() {
+        var propertyId = UUID.randomUUID();
+        var random = new Random(42);
+        var start = Instant.parse("2024-01-01T00:00:00Z");
+        index = new ApplicantPropertyIndex();
+        newestFirst = new ArrayList<>(size);
+        for (var i = 0; i < size; i++) {
+            var entry = new ApplicantIndexEntry(ApplicantIds.next(start.toEpochMilli() + i), propertyId, start.plusSeconds(i),
+                    Status.values()[random.nextInt(Status.values().length)], 1 + random.nextInt(5),
+                    random.nextBoolean(), random.nextBoolean());
+            index.put(entry);
+            newestFirst.add(0, entry);
+        }
+        filter = "common".equals(selectivity)
+                ? ApplicantFilter.builder().propertyId(propertyId).status(Status.CREATED).build()
+                : ApplicantFilter.builder().propertyId(propertyId).status(Status.INVITED).numberOfPersons(5)
+                .wbsPresent(true).pets(false).build();
+    }
+
+    @Benchmark
+    public List<UUID> index() {
+        return index.findIds(filter, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<UUID> scan() {
+        var ids = new ArrayList<UUID>(LIMIT);
+        for (var entry : newestFirst) {
+            if (entry.getStatus() == filter.getStatus()
+                    && (filter.getNumberOfPersons() == null || filter.getNumberOfPersons() == entry.getNumberOfPersons())
+                    && (filter.getWbsPresent() == null || filter.getWbsPresent() == entry.isWbsPresent())
+                    && (filter.getPets() == null || filter.getPets() == entry.isPets())) {
+                ids.add(entry.getId());
+                if (ids.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+}
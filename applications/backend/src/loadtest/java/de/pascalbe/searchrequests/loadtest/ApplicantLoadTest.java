@@ -0,0 +1,150 @@
+package de.pascalbe.searchrequests.loadtest;
+
+import de.pascalbe.searchrequests.Application;
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import de.pascalbe.searchrequests.applicants.domain.CreationSource;
+import de.pascalbe.searchrequests.applicants.domain.Salutation;
+import de.pascalbe.searchrequests.applicants.domain.Status;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+//  TO NOTE: boots the whole app (on a random port), seeds it directly via the repository and then runs the workload
+//      against the REST API via HTTP - first a warmup whose results are thrown away, then the measured run.
+//      The seed data is generated with a fixed seed, so that runs with the same options are comparable.
+public class ApplicantLoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.parse(args);
+        var httpExecutor = Executors.newCachedThreadPool();
+        try (var context = startApplication(options)) {
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var propertyIds = new ArrayList<UUID>();
+            var applicantIds = new ArrayList<String>();
+            seed(context.getBean(ApplicantRepository.class), options, propertyIds, applicantIds);
+
+            var workload = new Workload(URI.create("http://localhost:" + port), propertyIds, applicantIds, options.getMix());
+            var driver = new LoadDriver(options, workload, httpExecutor);
+            System.out.println("Warming up for " + options.getWarmup());
+            driver.run(options.getWarmup());
+            System.out.println("Measuring for " + options.getDuration());
+            var result = driver.run(options.getDuration());
+
+            report(options, result, System.out);
+            writeResults(options, result);
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        //  passed as command line arguments, so that they override application.properties
+        var arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--applicants.reactive-reads.enabled=true"));
+        if (options.getDatabase() == LoadTestOptions.Database.H2) {
+            //  the R2DBC connections open the same in-memory database as the JDBC ones
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driverClassName=org.h2.Driver",
+                    "--applicants.reactive-reads.url=r2dbc:h2:mem:///loadtest",
+                    "--applicants.reactive-reads.username=sa",
+                    "--applicants.reactive-reads.password="));
+        }
+        return new SpringApplicationBuilder(Application.class).run(arguments.toArray(String[]::new));
+    }
+
+    private static void seed(ApplicantRepository applicantRepository, LoadTestOptions options,
+                             List<UUID> propertyIds, List<String> applicantIds) {
+        var random = new Random(42);
+        var start = System.nanoTime();
+        for (var property = 0; property < options.getProperties(); property++) {
+            var propertyId = new UUID(random.nextLong(), random.nextLong());
+            propertyIds.add(propertyId);
+            var batch = new ArrayList<Applicant>(SEED_BATCH_SIZE);
+            for (var i = 0; i < options.getApplicantsPerProperty(); i++) {
+                var applicant = seedApplicant(random, propertyId, i);
+                batch.add(applicant);
+                applicantIds.add(applicant.getId().toString());
+                if (batch.size() == SEED_BATCH_SIZE) {
+                    applicantRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+            applicantRepository.saveAll(batch);
+        }
+        System.out.printf("Seeded %d properties x %d applicants in %d s%n", options.getProperties(),
+                options.getApplicantsPerProperty(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private static Applicant seedApplicant(Random random, UUID propertyId, int index) {
+        var applicant = new Applicant();
+        applicant.setId(new UUID(random.nextLong(), random.nextLong()));
+        applicant.setPropertyId(propertyId);
+        applicant.setEmail("applicant-" + index + "-" + propertyId + "@example.com");
+        applicant.setFirstName("Seeded");
+        applicant.setLastName("Applicant " + index);
+        applicant.setSalutation(Salutation.values()[random.nextInt(Salutation.values().length)]);
+        applicant.setCreationSource(random.nextBoolean() ? CreationSource.PORTAL : CreationSource.MANUAL);
+        applicant.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+        applicant.setNumberOfPersons(1 + random.nextInt(5));
+        applicant.setWbsPresent(random.nextBoolean());
+        applicant.setPets(random.nextBoolean());
+        //  spread over a year (without taking from the random numbers, so that the rest of the seed stays the same)
+        applicant.setEarliestMoveInDate(LocalDate.of(2024, 1, 1).plusDays(index % 365));
+        return applicant;
+    }
+
+    private static void report(LoadTestOptions options, LoadDriver.Result result, PrintStream out) {
+        out.println(options);
+        out.printf("%-20s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (var operation : result.getOperations()) {
+            var latencies = result.getLatencies(operation);
+            out.printf("%-20s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation,
+                    latencies.getTotalCount(),
+                    result.getErrors(operation),
+                    latencies.getTotalCount() / (double) result.getDuration().toSeconds(),
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(90) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0);
+        }
+    }
+
+    //  the full percentile distributions (in ms) can be plotted / compared with the HdrHistogram plotter
+    private static void writeResults(LoadTestOptions options, LoadDriver.Result result) throws IOException {
+        var directory = options.getResultDirectory();
+        Files.createDirectories(directory);
+        try (var summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            report(options, result, summary);
+        }
+        for (var operation : result.getOperations()) {
+            try (var distribution = new PrintStream(Files.newOutputStream(directory.resolve(operation + ".hgrm")))) {
+                result.getLatencies(operation).outputPercentileDistribution(distribution, 1000.0);
+            }
+        }
+        System.out.println("Results written to " + directory.toAbsolutePath());
+    }
+}
@@ -0,0 +1,143 @@
+package de.pascalbe.searchrequests.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+//  TO NOTE: latencies are recorded in microseconds. In the open mode, they are measured from the time a request
+//      was supposed to be sent - otherwise a slow server would slow down the driver and hide its own latency
+//      (coordinated omission).
+class LoadDriver {
+
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final HttpClient httpClient;
+
+    LoadDriver(LoadTestOptions options, Workload workload, ExecutorService httpExecutor) {
+        this.options = options;
+        this.workload = workload;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpExecutor)
+                .build();
+    }
+
+    Result run(Duration duration) throws InterruptedException {
+        var result = new Result(duration);
+        if (options.getMode() == LoadTestOptions.Mode.CLOSED) {
+            runClosed(duration, result);
+        } else {
+            runOpen(duration, result);
+        }
+        return result;
+    }
+
+    private void runClosed(Duration duration, Result result) throws InterruptedException {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var clients = Executors.newFixedThreadPool(options.getConcurrency());
+        for (var i = 0; i < options.getConcurrency(); i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    var operation = workload.nextOperation();
+                    var start = System.nanoTime();
+                    try {
+                        var response = httpClient.send(workload.request(operation), HttpResponse.BodyHandlers.discarding());
+                        result.record(operation, start, response.statusCode());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        result.record(operation, start, -1);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void runOpen(Duration duration, Result result) throws InterruptedException {
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        var start = System.nanoTime();
+        var deadline = start + duration.toNanos();
+        var inFlight = new AtomicInteger();
+        for (long i = 0; ; i++) {
+            var intendedStart = start + i * intervalNanos;
+            if (intendedStart >= deadline) {
+                break;
+            }
+            var delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            var operation = workload.nextOperation();
+            inFlight.incrementAndGet();
+            httpClient.sendAsync(workload.request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        result.record(operation, intendedStart, e == null ? response.statusCode() : -1);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        var timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < timeout) {
+            Thread.sleep(10);
+        }
+    }
+
+    static class Result {
+
+        private final Duration duration;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+        private Result(Duration duration) {
+            this.duration = duration;
+            for (var operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(3));
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        //  status -1: no response at all
+        private void record(Operation operation, long startNanos, int status) {
+            latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+            if (status < 200 || status >= 300) {
+                errors.get(operation).increment();
+            }
+        }
+
+        Duration getDuration() {
+            return duration;
+        }
+
+        Histogram getLatencies(Operation operation) {
+            return latencies.get(operation);
+        }
+
+        long getErrors(Operation operation) {
+            return errors.get(operation).sum();
+        }
+
+        Iterable<Operation> getOperations() {
+            var operations = new ArrayList<Operation>();
+            latencies.forEach((operation, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    operations.add(operation);
+                }
+            });
+            return operations;
+        }
+    }
+}
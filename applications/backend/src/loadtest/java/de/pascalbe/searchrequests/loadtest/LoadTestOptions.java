@@ -0,0 +1,82 @@
+package de.pascalbe.searchrequests.loadtest;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//  TO NOTE: options are given as --name=value arguments, everything has a default so that runs are comparable
+//      as long as they are started with the same arguments (they are printed with the results).
+@Value
+class LoadTestOptions {
+
+    enum Database {
+        //  in-memory, started within the load test
+        H2,
+        //  the one of application.properties (e.g. the docker-compose one)
+        POSTGRES
+    }
+
+    enum Mode {
+        //  a fixed number of clients, each sending its next request as soon as the previous one is answered
+        CLOSED,
+        //  requests are sent at a fixed rate, no matter how long the previous ones take
+        OPEN
+    }
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "database", "h2",
+            "properties", "10",
+            "applicants-per-property", "10000",
+            "mode", "closed",
+            "concurrency", "16",
+            "rate", "500",
+            "warmup", "PT15S",
+            "duration", "PT60S",
+            "mix", "get-by-id=40,list=40,create-manual=10,create-external=10",
+            "result-directory", "target/loadtest");
+
+    Database database;
+    int properties;
+    int applicantsPerProperty;
+    Mode mode;
+    int concurrency;
+    int rate;
+    Duration warmup;
+    Duration duration;
+    Map<Operation, Integer> mix;
+    Path resultDirectory;
+
+    static LoadTestOptions parse(String[] args) {
+        var values = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')), arg -> arg.substring(arg.indexOf('=') + 1)));
+        Function<String, String> option = name -> values.getOrDefault(name, DEFAULTS.get(name));
+        return new LoadTestOptions(
+                Database.valueOf(option.apply("database").toUpperCase()),
+                Integer.parseInt(option.apply("properties")),
+                Integer.parseInt(option.apply("applicants-per-property")),
+                Mode.valueOf(option.apply("mode").toUpperCase()),
+                Integer.parseInt(option.apply("concurrency")),
+                Integer.parseInt(option.apply("rate")),
+                Duration.parse(option.apply("warmup")),
+                Duration.parse(option.apply("duration")),
+                parseMix(option.apply("mix")),
+                Path.of(option.apply("result-directory")));
+    }
+
+    //  e.g. "get-by-id=40,list=40,create-manual=10,create-external=10" (weights, not necessarily percentages)
+    private static Map<Operation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.split("=");
+            weights.put(Operation.byName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,30 @@
+package de.pascalbe.searchrequests.loadtest;
+
+import java.util.Arrays;
+
+enum Operation {
+    CREATE_MANUAL("create-manual"),
+    CREATE_EXTERNAL("create-external"),
+    GET_BY_ID("get-by-id"),
+    LIST("list"),
+    REACTIVE_GET_BY_ID("reactive-get-by-id"),
+    REACTIVE_LIST("reactive-list");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    static Operation byName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown operation " + name));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
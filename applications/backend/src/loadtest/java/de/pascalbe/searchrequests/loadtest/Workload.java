@@ -0,0 +1,109 @@
+package de.pascalbe.searchrequests.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+//  TO NOTE: reads go to random seeded properties / applicants, so that the results don't depend on caching a
+//      single listing. Created applicants get unique emails, otherwise most of them would be detected as duplicates.
+class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] LIST_FILTERS = {
+            "",
+            "status=CREATED&",
+            "numberOfPersons=2&",
+            "wbsPresent=true&",
+            "status=INVITED&wbsPresent=false&",
+            "partOfEmail=-1&",
+            "moveInFrom=2024-03-01&moveInTo=2024-03-31&"
+    };
+
+    private final URI baseUri;
+    private final List<UUID> propertyIds;
+    private final List<String> applicantIds;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicLong createdApplicants = new AtomicLong();
+
+    Workload(URI baseUri, List<UUID> propertyIds, List<String> applicantIds, Map<Operation, Integer> mix) {
+        this.baseUri = baseUri;
+        this.propertyIds = propertyIds;
+        this.applicantIds = applicantIds;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        var sum = 0;
+        for (var i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    Operation nextOperation() {
+        var value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (var i = 0; i < operations.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("weights have to be positive");
+    }
+
+    HttpRequest request(Operation operation) {
+        switch (operation) {
+            case CREATE_MANUAL:
+                return post("/properties/" + randomPropertyId() + "/applicants",
+                        "{\"email\": \"" + nextEmail() + "\", \"firstName\": \"Load\", \"lastName\": \"Test\", " +
+                                "\"userComment\": \"created by the load test\", \"salutation\": \"MRS\"}");
+            case CREATE_EXTERNAL:
+                return post("/properties/" + randomPropertyId() + "/external-applicants",
+                        "{\"email\": \"" + nextEmail() + "\", \"firstName\": \"Load\", \"lastName\": \"Test\", " +
+                                "\"applicantComment\": \"created by the load test\", \"salutation\": \"MR\", " +
+                                "\"wbsPresent\": true, \"pets\": false, \"numberOfPersons\": 2, " +
+                                "\"earliestMoveInDate\": \"2024-01-01\"}");
+            case GET_BY_ID:
+                return get("/applicants/" + randomApplicantId());
+            case LIST:
+                return get("/properties/" + randomPropertyId() + "/applicants?" + randomListFilter() + "limit=100");
+            case REACTIVE_GET_BY_ID:
+                return get("/reactive/applicants/" + randomApplicantId());
+            case REACTIVE_LIST:
+                return get("/reactive/properties/" + randomPropertyId() + "/applicants?" + randomListFilter() + "limit=100");
+            default:
+                throw new IllegalArgumentException("unknown operation " + operation);
+        }
+    }
+
+    private UUID randomPropertyId() {
+        return propertyIds.get(ThreadLocalRandom.current().nextInt(propertyIds.size()));
+    }
+
+    private String randomApplicantId() {
+        return applicantIds.get(ThreadLocalRandom.current().nextInt(applicantIds.size()));
+    }
+
+    private static String randomListFilter() {
+        return LIST_FILTERS[ThreadLocalRandom.current().nextInt(LIST_FILTERS.length)];
+    }
+
+    private String nextEmail() {
+        return "load-test-" + createdApplicants.incrementAndGet() + "-" + System.nanoTime() + "@example.com";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
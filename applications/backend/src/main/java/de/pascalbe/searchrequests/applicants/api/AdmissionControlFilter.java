@@ -0,0 +1,254 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+//  TO NOTE: requests are rejected right away (429 with Retry-After) instead of queueing up in front of the
+//      connection pool, so that a portal that floods the ingestion can't slow down everybody else:
+//      - each client has a token bucket for storing external applicants, a batch takes a token per applicant
+//        (its body is buffered and counted up front, once the request got its share of the budget below - batches
+//        that are larger than they can be are rejected without reading them)
+//      - clients are identified by their client header only when they are configured, otherwise by their address
+//      - reads and writes have their own budget of requests that are processed at the same time, writes can't
+//        take away the budget (and the connections) of the reads and vice versa
+//      Streamed exports and feed subscriptions only count until they are started (they continue asynchronously).
+//      Actuator endpoints (health checks, metrics) are always admitted.
+@Component
+@ConditionalOnProperty("applicants.admission-control.enabled")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern INGESTION_PATH = Pattern.compile("/properties/[^/]+/external-applicants(/batch)?");
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final String CLIENT_PREFIX = "client:";
+    private static final String ADDRESS_PREFIX = "address:";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final AdmissionControlProperties properties;
+    private final Cache<String, TokenBucket> bucketsByClient;
+    private final Budget readBudget;
+    private final Budget writeBudget;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        //  an idle bucket is full again after a while, so it doesn't matter when it's dropped
+        this.bucketsByClient = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        this.readBudget = new Budget("reads", properties.getMaximumConcurrentReads(), meterRegistry);
+        this.writeBudget = new Budget("writes", properties.getMaximumConcurrentWrites(), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return pathOf(request).startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var write = !READ_METHODS.contains(request.getMethod());
+        var budget = write ? writeBudget : readBudget;
+        if (!budget.permits.tryAcquire()) {
+            budget.overloaded.increment();
+            reject(response, properties.getRetryAfter().toNanos());
+            return;
+        }
+        try {
+            var ingestion = INGESTION_PATH.matcher(pathOf(request));
+            if (write && ingestion.matches()) {
+                var applicants = 1;
+                if (ingestion.group(1) != null) {
+                    var body = readBatch(request);
+                    if (body == null) {
+                        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                        return;
+                    }
+                    request = new BufferedRequest(request, body);
+                    applicants = countApplicants(body);
+                }
+                var waitNanos = bucketOf(clientOf(request)).tryTake(applicants, System.nanoTime());
+                if (waitNanos > 0) {
+                    budget.rateLimited.increment();
+                    reject(response, waitNanos);
+                    return;
+                }
+            }
+
+            budget.admitted.increment();
+            filterChain.doFilter(request, response);
+        } finally {
+            budget.permits.release();
+        }
+    }
+
+    //  the content length isn't known when the body is chunked, so the read stops right after the limit as well
+    @Nullable
+    private byte[] readBatch(HttpServletRequest request) throws IOException {
+        var maximumBatchSize = properties.getMaximumBatchSize().toBytes();
+        if (request.getContentLengthLong() > maximumBatchSize) {
+            return null;
+        }
+        var body = request.getInputStream().readNBytes(Math.toIntExact(maximumBatchSize) + 1);
+        return body.length > maximumBatchSize ? null : body;
+    }
+
+    //  client ids and addresses can't collide, as the buckets of both are kept apart by a prefix
+    private String clientOf(HttpServletRequest request) {
+        var client = request.getHeader(properties.getClientHeader());
+        return client != null && properties.getClients().containsKey(client)
+                ? CLIENT_PREFIX + client
+                : ADDRESS_PREFIX + request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketOf(String client) {
+        return bucketsByClient.get(client, key -> {
+            var limit = key.startsWith(CLIENT_PREFIX)
+                    ? properties.getClients().get(key.substring(CLIENT_PREFIX.length()))
+                    : properties.getIngestion();
+            return new TokenBucket(limit.getApplicantsPerSecond(), limit.getBurst(), System.nanoTime());
+        });
+    }
+
+    //  a body that isn't a JSON array counts as one applicant - the controller rejects it anyway
+    private static int countApplicants(byte[] body) {
+        try (var parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return 1;
+            }
+            var applicants = 0;
+            for (var token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                parser.skipChildren();
+                applicants++;
+            }
+            return Math.max(1, applicants);
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterNanos) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        var retryAfterSeconds = (long) Math.ceil(retryAfterNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    //  the body of a batch was read to count its applicants, it's read again from the buffer
+    private static class BufferedRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    //  the whole body is available right away
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            var encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+
+    private static class Budget {
+
+        private final Semaphore permits;
+        private final Counter admitted;
+        private final Counter rateLimited;
+        private final Counter overloaded;
+
+        Budget(String name, int maximum, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(maximum);
+            this.admitted = requests(meterRegistry, name, "admitted", "none");
+            this.rateLimited = requests(meterRegistry, name, "rejected", "rate-limit");
+            this.overloaded = requests(meterRegistry, name, "rejected", "concurrency");
+            Gauge.builder("applicants.admission.in.flight", permits, p -> maximum - p.availablePermits())
+                    .description("requests that are processed at the moment")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String budget, String result, String reason) {
+            return Counter.builder("applicants.admission.requests")
+                    .description("requests by whether they were admitted or rejected (and why)")
+                    .tag("budget", budget)
+                    .tag("result", result)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
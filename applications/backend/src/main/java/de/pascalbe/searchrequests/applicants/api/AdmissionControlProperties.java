@@ -0,0 +1,56 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("applicants.admission-control")
+public class AdmissionControlProperties {
+
+    //  when disabled, all requests are admitted
+    private boolean enabled = false;
+
+    //  identifies the portal / client - only the clients listed below are trusted, all others (and clients without
+    //  it) are identified by their address, so that a client can't get a new rate limit by sending another id
+    private String clientHeader = "X-Client-Id";
+
+    //  requests that are processed at the same time (further requests are rejected)
+    private int maximumConcurrentReads = 64;
+
+    //  should stay below the size of the connection pool, so that reads still get connections
+    private int maximumConcurrentWrites = 8;
+
+    //  tells clients that were rejected because of the concurrency when to try again
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    //  the rate limit of each client for storing external applicants (a batch counts with all of its applicants)
+    private Limit ingestion = new Limit(100, 1000);
+
+    //  batches are buffered to count their applicants, larger ones are rejected before that (a batch has at most
+    //  1000 applicants)
+    private DataSize maximumBatchSize = DataSize.ofMegabytes(4);
+
+    //  limits of single clients (by the value of the client header) that differ from the one above
+    private Map<String, Limit> clients = new HashMap<>();
+
+    //  maximum number of clients whose rate limits are tracked
+    private int maximumClients = 10_000;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private double applicantsPerSecond;
+
+        //  applicants that can be sent at once after a client was idle
+        private int burst;
+    }
+}
@@ -0,0 +1,127 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import de.pascalbe.searchrequests.applicants.domain.ReplicaRouting;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class ApplicantExportController {
+
+    static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    static final MediaType APPLICATION_CBOR_SEQ = MediaType.valueOf(APPLICATION_CBOR_SEQ_VALUE);
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+    static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+    private static final List<MediaType> EXPORT_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON, APPLICATION_CBOR_SEQ, SMILE);
+
+    private final ApplicantRepository applicantRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+    private final MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    //  TO NOTE: the applicants are written one per line while they are read from the DB cursor,
+    //      so the heap usage doesn't depend on the number of applicants of the property.
+    //      Instead of NDJSON, clients can ask for a sequence of CBOR items (RFC 8742) or of Smile values
+    //      (both can be read one by one, e.g. with Jackson's MappingIterator).
+    @GetMapping(value = "/properties/{propertyId}/applicants/export",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_CBOR_SEQ_VALUE, SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportApplicants(@PathVariable UUID propertyId,
+                                                                  @RequestHeader(HttpHeaders.ACCEPT) Optional<String> accept) {
+        var mediaType = negotiate(accept.orElse(MediaType.ALL_VALUE));
+        var mapper = objectMapperFor(mediaType);
+        //  the body is written on another thread, which has to read from the primary as well (see ReplicaRouting)
+        var primaryRequired = ReplicaRouting.isPrimaryRequired();
+        StreamingResponseBody body = outputStream -> {
+            Runnable export = () -> readOnlyTransaction()
+                    .executeWithoutResult(status -> writeApplicants(propertyId, mapper, outputStream));
+            if (primaryRequired) {
+                ReplicaRouting.onPrimary(export);
+            } else {
+                export.run();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    //  the first of the export formats that the client accepts, preferring the ones the client prefers
+    private static MediaType negotiate(String accept) {
+        var acceptedMediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(acceptedMediaTypes);
+        for (var acceptedMediaType : acceptedMediaTypes) {
+            for (var exportMediaType : EXPORT_MEDIA_TYPES) {
+                if (acceptedMediaType.isCompatibleWith(exportMediaType)) {
+                    return exportMediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    private ObjectMapper objectMapperFor(MediaType mediaType) {
+        if (mediaType.equals(APPLICATION_CBOR_SEQ)) {
+            return cborHttpMessageConverter.getObjectMapper();
+        }
+        if (mediaType.equals(SMILE)) {
+            return smileHttpMessageConverter.getObjectMapper();
+        }
+        return objectMapper;
+    }
+
+    private void writeApplicants(UUID propertyId, ObjectMapper mapper, OutputStream outputStream) {
+        try (var applicants = applicantRepository.streamAllByPropertyId(propertyId);
+             var generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            //  binary formats don't need a separator (and can't write raw characters)
+            var newlineDelimited = !generator.canWriteBinaryNatively();
+            if (newlineDelimited) {
+                generator.setRootValueSeparator(null);
+            }
+            var writer = mapper.writerFor(Applicant.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            for (var iterator = applicants.iterator(); iterator.hasNext(); ) {
+                var applicant = iterator.next();
+                writer.writeValue(generator, applicant);
+                if (newlineDelimited) {
+                    generator.writeRaw('\n');
+                }
+                //  the persistence context would otherwise keep a reference to every exported applicant
+                entityManager.detach(applicant);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+}
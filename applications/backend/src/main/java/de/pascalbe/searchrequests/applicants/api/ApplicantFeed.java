@@ -0,0 +1,208 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCreatedEvent;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCursor;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//  TO NOTE: subscriptions are async requests (SseEmitter), so idle subscribers only hold a connection,
+//      but no request thread. New applicants are queued per subscription once their transaction is committed
+//      and sent by a small thread pool. A subscriber that falls too far behind (or can't be scheduled at all) is
+//      dropped instead of piling up events in memory - it resumes with its Last-Event-ID like after a timeout.
+//      The event ids are applicant cursors - a client that reconnects with the Last-Event-ID first gets the applicants
+//      it missed (up to the replay limit, followed by a gap event if it missed more) and then the new ones.
+//      Applicants that get committed in a different order than they were created can be missed on reconnects.
+@Component
+@Slf4j
+public class ApplicantFeed {
+
+    private static final String EVENT_NAME = "applicant";
+    private static final String GAP_EVENT_NAME = "gap";
+
+    private final ApplicantRepository applicantRepository;
+    private final ApplicantFeedProperties properties;
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final Map<UUID, Set<Subscription>> subscriptionsByProperty = new ConcurrentHashMap<>();
+
+    public ApplicantFeed(ApplicantRepository applicantRepository, ApplicantFeedProperties properties) {
+        this.applicantRepository = applicantRepository;
+        this.properties = properties;
+        this.deliveryExecutor = new ThreadPoolExecutor(properties.getDeliveryThreads(), properties.getDeliveryThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getDeliveryQueueCapacity()));
+    }
+
+    public SseEmitter subscribe(UUID propertyId, @Nullable ApplicantCursor lastEventCursor) {
+        var subscription = new Subscription(propertyId, new SseEmitter(properties.getTimeout().toMillis()),
+                lastEventCursor != null);
+        subscription.emitter.onCompletion(() -> unsubscribe(subscription));
+        subscription.emitter.onTimeout(() -> unsubscribe(subscription));
+        subscription.emitter.onError(e -> unsubscribe(subscription));
+
+        //  subscribing before replaying makes sure that no applicant gets lost in between
+        subscriptionsByProperty.compute(propertyId, (id, subscriptions) -> {
+            var result = subscriptions == null ? ConcurrentHashMap.<Subscription>newKeySet() : subscriptions;
+            result.add(subscription);
+            return result;
+        });
+        if (lastEventCursor != null) {
+            //  one more than the limit tells whether the client missed more applicants than are replayed
+            var missed = applicantRepository.findAllCreatedSince(propertyId, lastEventCursor, properties.getReplayLimit() + 1);
+            subscription.replay(missed, properties.getReplayLimit());
+        }
+        return subscription.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantCreatedEvent event) {
+        var applicant = event.getApplicant();
+        var subscriptions = subscriptionsByProperty.get(applicant.getPropertyId());
+        if (subscriptions != null) {
+            subscriptions.forEach(subscription -> subscription.enqueue(applicant));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${applicants.feed.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        subscriptionsByProperty.values().forEach(subscriptions -> subscriptions.forEach(Subscription::enqueueHeartbeat));
+    }
+
+    @PreDestroy
+    public void close() {
+        deliveryExecutor.shutdownNow();
+        subscriptionsByProperty.values().forEach(subscriptions ->
+                subscriptions.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptionsByProperty.computeIfPresent(subscription.propertyId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private class Subscription {
+
+        private final UUID propertyId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Applicant> pendingApplicants;
+        private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        //  new applicants are held back until the missed ones are replayed, so that they're sent in order
+        private boolean replaying;
+        //  applicants that were replayed can show up as new applicants as well, they're only sent once
+        private final Set<UUID> replayedIds = new HashSet<>();
+
+        Subscription(UUID propertyId, SseEmitter emitter, boolean replaying) {
+            this.propertyId = propertyId;
+            this.emitter = emitter;
+            this.pendingApplicants = new ArrayBlockingQueue<>(properties.getMaximumPendingEvents());
+            this.replaying = replaying;
+        }
+
+        void replay(List<Applicant> applicants, int limit) {
+            var replayed = applicants.subList(0, Math.min(applicants.size(), limit));
+            for (var applicant : replayed) {
+                send(applicantEvent(applicant));
+                replayedIds.add(applicant.getId());
+            }
+            if (applicants.size() > limit) {
+                //  the client has to resume from the gap (or reload the applicants) to get the ones in between
+                var resumeCursor = replayed.isEmpty() ? "" : ApplicantCursor.of(replayed.get(replayed.size() - 1)).encode();
+                send(SseEmitter.event()
+                        .id(resumeCursor)
+                        .name(GAP_EVENT_NAME)
+                        .data(resumeCursor));
+            }
+
+            synchronized (this) {
+                replaying = false;
+            }
+            scheduleDelivery();
+        }
+
+        void enqueue(Applicant applicant) {
+            if (!pendingApplicants.offer(applicant)) {
+                drop("it has too many pending applicants");
+                return;
+            }
+            scheduleDelivery();
+        }
+
+        void enqueueHeartbeat() {
+            heartbeatDue = true;
+            scheduleDelivery();
+        }
+
+        private void scheduleDelivery() {
+            if (deliveryScheduled.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this::deliver);
+                } catch (RejectedExecutionException e) {
+                    drop("the delivery queue is full");
+                }
+            }
+        }
+
+        private synchronized void deliver() {
+            deliveryScheduled.set(false);
+            if (replaying) {
+                return;
+            }
+
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                send(SseEmitter.event().comment("heartbeat"));
+            }
+            Applicant applicant;
+            while ((applicant = pendingApplicants.poll()) != null) {
+                if (!replayedIds.contains(applicant.getId())) {
+                    send(applicantEvent(applicant));
+                }
+            }
+        }
+
+        private void drop(String reason) {
+            log.debug("Dropping subscriber of property {} because {}", propertyId, reason);
+            unsubscribe(this);
+            emitter.complete();
+        }
+
+        private SseEmitter.SseEventBuilder applicantEvent(Applicant applicant) {
+            return SseEmitter.event()
+                    .id(ApplicantCursor.of(applicant).encode())
+                    .name(EVENT_NAME)
+                    .data(applicant, MediaType.APPLICATION_JSON);
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Could not send event to subscriber of property {}, closing the subscription", propertyId, e);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
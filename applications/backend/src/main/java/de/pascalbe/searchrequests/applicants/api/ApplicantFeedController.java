@@ -0,0 +1,32 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class ApplicantFeedController {
+
+    private final ApplicantFeed applicantFeed;
+
+    @GetMapping(value = "/properties/{propertyId}/applicants/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable UUID propertyId,
+                                                @RequestHeader("Last-Event-ID") Optional<String> lastEventId) {
+        var lastEventCursor = lastEventId.flatMap(ApplicantCursor::decode);
+        if (lastEventId.isPresent() && lastEventCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(applicantFeed.subscribe(propertyId, lastEventCursor.orElse(null)));
+    }
+}
@@ -0,0 +1,29 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("applicants.feed")
+public class ApplicantFeedProperties {
+
+    //  clients reconnect (with the Last-Event-ID) after a subscription timed out
+    private Duration timeout = Duration.ofMinutes(30);
+
+    //  detects subscribers that are gone without closing the connection
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    //  maximum number of applicants that are sent again when a client resumes a subscription
+    private int replayLimit = 1000;
+
+    //  threads sending the events, so that slow subscribers don't slow down storing applicants
+    private int deliveryThreads = 4;
+
+    //  subscriptions waiting to be sent to - when it's full, the subscribers that can't be scheduled are dropped
+    private int deliveryQueueCapacity = 10000;
+
+    //  applicants queued for a single subscriber - slower subscribers are dropped and resume with the Last-Event-ID
+    private int maximumPendingEvents = 1000;
+}
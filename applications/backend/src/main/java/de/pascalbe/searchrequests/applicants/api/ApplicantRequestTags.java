@@ -0,0 +1,85 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.ApplicantFilter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+
+//  TO NOTE: adds the filter combination and the result size of applicant listings to the request metrics, so that
+//      slow filter combinations can be spotted. The result size is bucketed and every request gets both tags
+//      (prometheus requires the same tags for all requests), to keep the number of time series small.
+@Component
+public class ApplicantRequestTags implements WebMvcTagsContributor {
+
+    private static final String FILTERS_ATTRIBUTE = ApplicantRequestTags.class.getName() + ".filters";
+    private static final String RESULT_SIZE_ATTRIBUTE = ApplicantRequestTags.class.getName() + ".resultSize";
+    private static final String NONE = "none";
+
+    static void tagFilters(WebRequest request, ApplicantFilter filter) {
+        var filters = new ArrayList<String>();
+        if (filter.getStatus() != null) {
+            filters.add("status");
+        }
+        if (filter.getNumberOfPersons() != null) {
+            filters.add("numberOfPersons");
+        }
+        if (filter.getWbsPresent() != null) {
+            filters.add("wbsPresent");
+        }
+        if (filter.getPets() != null) {
+            filters.add("pets");
+        }
+        if (filter.getPartOfEmail() != null) {
+            filters.add("partOfEmail");
+        }
+        if (filter.getMoveInFrom() != null || filter.getMoveInTo() != null) {
+            filters.add("moveIn");
+        }
+        request.setAttribute(FILTERS_ATTRIBUTE, filters.isEmpty() ? NONE : String.join("+", filters),
+                RequestAttributes.SCOPE_REQUEST);
+    }
+
+    static void tagResultSize(WebRequest request, int resultSize) {
+        request.setAttribute(RESULT_SIZE_ATTRIBUTE, resultSizeBucket(resultSize), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    static Tag filtersTag(HttpServletRequest request) {
+        return Tag.of("filters", attribute(request, FILTERS_ATTRIBUTE));
+    }
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(filtersTag(request), Tag.of("resultSize", attribute(request, RESULT_SIZE_ATTRIBUTE)));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+
+    private static String attribute(HttpServletRequest request, String name) {
+        var value = request.getAttribute(name);
+        return value == null ? NONE : (String) value;
+    }
+
+    private static String resultSizeBucket(int resultSize) {
+        if (resultSize == 0) {
+            return "0";
+        }
+        if (resultSize <= 10) {
+            return "1-10";
+        }
+        if (resultSize <= 100) {
+            return "11-100";
+        }
+        return "101-1000";
+    }
+}
@@ -0,0 +1,32 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.CreationSource;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class ApplicantSourceStatistics {
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private Map<CreationSource, Long> total;
+
+    private List<DailyApplicantSources> days;
+
+    //  only filled when the statistics are not restricted to one property
+    private Map<UUID, Map<CreationSource, Long>> properties;
+
+    @Data
+    public static class DailyApplicantSources {
+
+        private LocalDate day;
+
+        private Map<CreationSource, Long> applicants;
+    }
+}
@@ -0,0 +1,77 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSourceCount;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSourceCounter;
+import de.pascalbe.searchrequests.applicants.domain.CreationSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+//  TO NOTE: the statistics are aggregated from the pre-counted (property, day, source) buckets, so a request costs
+//      the number of buckets in the requested range and not the number of applicants.
+@RestController
+@RequiredArgsConstructor
+public class ApplicantSourceStatisticsController {
+
+    private static final int DEFAULT_DAYS = 30;
+    private static final int MAX_DAYS = 366;
+
+    private final ApplicantSourceCounter applicantSourceCounter;
+
+    @GetMapping("/statistics/applicant-sources")
+    public ResponseEntity<ApplicantSourceStatistics> getApplicantSources(
+            @RequestParam Optional<UUID> propertyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> to) {
+        var toDay = to.orElseGet(() -> LocalDate.now(ZoneOffset.UTC));
+        var fromDay = from.orElseGet(() -> toDay.minusDays(DEFAULT_DAYS - 1));
+        if (fromDay.isAfter(toDay) || ChronoUnit.DAYS.between(fromDay, toDay) >= MAX_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var counts = applicantSourceCounter.getCounts(propertyId.orElse(null), fromDay, toDay);
+
+        var statistics = new ApplicantSourceStatistics();
+        statistics.setFrom(fromDay);
+        statistics.setTo(toDay);
+        statistics.setTotal(new EnumMap<>(CreationSource.class));
+        var days = new TreeMap<LocalDate, Map<CreationSource, Long>>();
+        var properties = new TreeMap<UUID, Map<CreationSource, Long>>();
+        for (var count : counts) {
+            var id = count.getId();
+            addTo(statistics.getTotal(), count);
+            addTo(days.computeIfAbsent(id.getCreationDay(), day -> new EnumMap<>(CreationSource.class)), count);
+            addTo(properties.computeIfAbsent(id.getPropertyId(), property -> new EnumMap<>(CreationSource.class)), count);
+        }
+        statistics.setDays(days.entrySet().stream()
+                .map(day -> {
+                    var dailySources = new ApplicantSourceStatistics.DailyApplicantSources();
+                    dailySources.setDay(day.getKey());
+                    dailySources.setApplicants(day.getValue());
+                    return dailySources;
+                })
+                .collect(Collectors.toList()));
+        if (propertyId.isEmpty()) {
+            statistics.setProperties(properties);
+        }
+
+        return ResponseEntity.ok(statistics);
+    }
+
+    private static void addTo(Map<CreationSource, Long> applicantsPerSource, ApplicantSourceCount count) {
+        applicantsPerSource.merge(count.getId().getCreationSource(), count.getApplicants(), Long::sum);
+    }
+}
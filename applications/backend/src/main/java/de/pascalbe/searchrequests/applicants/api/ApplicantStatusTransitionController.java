@@ -0,0 +1,65 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.ApplicantFilter;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantStatusChange;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantStatusTransitions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+//  TO NOTE: invites / declines many applicants of a property at once (e.g. after a viewing round). The response tells
+//      for each applicant whether it was changed, and if not, why not - a conflict means that the applicant was
+//      changed since the client has seen it (the client can load it again and decide again).
+@RestController
+@RequiredArgsConstructor
+public class ApplicantStatusTransitionController {
+
+    private final ApplicantStatusTransitions applicantStatusTransitions;
+
+    @PostMapping("/properties/{propertyId}/applicants/status-transitions")
+    public ResponseEntity<List<ApplicantStatusChange>> transitionStatus(
+            @PathVariable UUID propertyId,
+            @Valid @RequestBody ApplicantStatusTransitionRequest request) {
+        var applicants = request.getApplicants();
+        var filter = request.getFilter();
+        if ((applicants == null) == (filter == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (applicants != null) {
+            if (applicants.isEmpty() || applicants.size() > applicantStatusTransitions.getMaximumApplicants()) {
+                return ResponseEntity.badRequest().build();
+            }
+            var expectedVersions = new LinkedHashMap<UUID, Long>();
+            applicants.forEach(applicant -> expectedVersions.put(applicant.getId(), applicant.getVersion()));
+            return ResponseEntity.ok(applicantStatusTransitions.transition(propertyId, expectedVersions, request.getStatus()));
+        }
+
+        if (filter.getMoveInFrom() != null && filter.getMoveInTo() != null
+                && filter.getMoveInFrom().isAfter(filter.getMoveInTo())) {
+            return ResponseEntity.badRequest().build();
+        }
+        var applicantFilter = ApplicantFilter.builder()
+                .propertyId(propertyId)
+                .status(filter.getStatus())
+                .numberOfPersons(filter.getNumberOfPersons())
+                .wbsPresent(filter.getWbsPresent())
+                .pets(filter.getPets())
+                .partOfEmail(filter.getPartOfEmail())
+                .moveInFrom(filter.getMoveInFrom())
+                .moveInTo(filter.getMoveInTo())
+                .build();
+        //  too many matching applicants - the client has to narrow the filter down
+        return applicantStatusTransitions.transition(applicantFilter, request.getStatus())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+}
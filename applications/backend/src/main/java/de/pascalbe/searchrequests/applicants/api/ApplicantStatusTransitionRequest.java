@@ -0,0 +1,53 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.Status;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+//  TO NOTE: either the applicants or a filter have to be given, not both.
+@Data
+public class ApplicantStatusTransitionRequest {
+
+    @NotNull
+    private Status status;
+
+    private List<@Valid @NotNull ApplicantReference> applicants;
+
+    @Valid
+    private Filter filter;
+
+    @Data
+    public static class ApplicantReference {
+
+        @NotNull
+        private UUID id;
+
+        //  the version the client has seen (part of the applicant's ETag) - without it, the applicant is changed
+        //      regardless of concurrent changes
+        private Long version;
+    }
+
+    //  the same filters as the ones of the listing
+    @Data
+    public static class Filter {
+
+        private Status status;
+
+        private Integer numberOfPersons;
+
+        private Boolean wbsPresent;
+
+        private Boolean pets;
+
+        private String partOfEmail;
+
+        private LocalDate moveInFrom;
+
+        private LocalDate moveInTo;
+    }
+}
@@ -1,26 +1,60 @@
 package de.pascalbe.searchrequests.applicants.api;
 
 import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCursor;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantDuplicateDetector;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantField;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantFilter;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIds;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIngestion;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIngestionProperties;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantListing;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantListingCache;
 import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSummary;
 import de.pascalbe.searchrequests.applicants.domain.CreationSource;
 import de.pascalbe.searchrequests.applicants.domain.Status;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
 import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 
 @RestController
 @Slf4j
 @RequiredArgsConstructor
 public class ApplicantsController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ApplicantRepository applicantRepository;
+    private final ApplicantListingCache applicantListingCache;
+    private final ApplicantDuplicateDetector applicantDuplicateDetector;
+    private final ApplicantIngestion applicantIngestion;
+    private final ApplicantIngestionProperties applicantIngestionProperties;
+    private final Validator validator;
 
     @PostMapping("/properties/{propertyId}/applicants")
     public ResponseEntity<?> storeManualApplicant(@PathVariable UUID propertyId,
@@ -30,7 +64,7 @@ public class ApplicantsController {
         var applicant = new Applicant();
         //  TO NOTE: this mapping could be extracted into a mapper (e.g. with mapstruct).
         //      It's left for simplicity reasons. Both options would be fine in my opinion in a real app.
-        applicant.setId(String.valueOf(UUID.randomUUID()));
+        applicant.setId(ApplicantIds.next());
         applicant.setEmail(manualApplicant.getEmail());
         applicant.setFirstName(manualApplicant.getFirstName());
         applicant.setLastName(manualApplicant.getLastName());
@@ -48,11 +82,229 @@ public class ApplicantsController {
 
     //  TO NOTE: this endpoint should have unit tests for the validations.
     //      Leaving it out to keep it simple.
+    //  TO NOTE: storing is idempotent - for an applicant that was already stored (same property and email),
+    //      the id of the existing applicant is returned with a 200 instead of a 201.
     @PostMapping("/properties/{propertyId}/external-applicants")
     public ResponseEntity<?> storeExternalApplicant(@PathVariable UUID propertyId,
                                                     @Valid @RequestBody ExternalApplicant externalApplicant) {
+        var applicant = toApplicant(propertyId, externalApplicant);
+        var existingId = applicantDuplicateDetector.findExistingId(applicant);
+        if (existingId.isPresent()) {
+            return existingApplicant(existingId.get());
+        }
+
+        var response = new StoreApplicantResponse();
+        response.setId(applicant.getId());
+
+        //  TO NOTE: with write-behind ingestion, the applicant is only validated and spooled here and stored a bit
+        //      later, so it might not be found right after the 202. An applicant that is sent again while it's
+        //      still queued gets the id it's queued with.
+        if (applicantIngestion.isEnabled()) {
+            var queuedId = applicantIngestion.accept(applicant);
+            if (queuedId.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds())
+                        .build();
+            }
+            applicantDuplicateDetector.remember(applicant);
+            response.setId(queuedId.get());
+            return ResponseEntity.accepted().location(URI.create("/applicants/" + response.getId())).body(response);
+        }
+
+        try {
+            applicantRepository.save(applicant);
+        } catch (DataIntegrityViolationException e) {
+            //  the same applicant was stored concurrently
+            return applicantDuplicateDetector.findStoredId(applicant)
+                    .map(this::existingApplicant)
+                    .orElseThrow(() -> e);
+        }
+        applicantDuplicateDetector.remember(applicant);
+        return ResponseEntity.created(URI.create("/applicants/" + response.getId())).body(response);
+    }
+
+    //  TO NOTE: invalid items don't fail the whole batch - all valid applicants are stored within one transaction
+    //      (with JDBC batch inserts) and the response tells for each item whether it was stored or why not.
+    //      Applicants that were already stored (or are in the batch multiple times) get the id of the existing one.
+    //      When some of them are stored concurrently, the batch fails with a 409 and can be sent again.
+    @PostMapping("/properties/{propertyId}/external-applicants/batch")
+    public ResponseEntity<List<StoreApplicantBatchItemResponse>> storeExternalApplicants(
+            @PathVariable UUID propertyId,
+            @RequestBody List<ExternalApplicant> externalApplicants) {
+        if (externalApplicants.isEmpty() || externalApplicants.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var responses = new ArrayList<StoreApplicantBatchItemResponse>(externalApplicants.size());
+        var applicantsByEmail = new LinkedHashMap<String, Applicant>();
+        for (var index = 0; index < externalApplicants.size(); index++) {
+            var externalApplicant = externalApplicants.get(index);
+            var response = new StoreApplicantBatchItemResponse();
+            response.setIndex(index);
+            response.setErrors(validate(externalApplicant));
+            if (response.getErrors().isEmpty()) {
+                var applicant = toApplicant(propertyId, externalApplicant);
+                var normalizedEmail = Applicant.normalizeEmail(applicant.getEmail());
+                var sameApplicant = applicantsByEmail.get(normalizedEmail);
+                var existingId = sameApplicant != null
+                        ? Optional.of(sameApplicant.getId())
+                        : applicantDuplicateDetector.findExistingId(applicant);
+                if (existingId.isPresent()) {
+                    response.setId(existingId.get());
+                } else {
+                    applicantsByEmail.put(normalizedEmail, applicant);
+                    response.setId(applicant.getId());
+                }
+            }
+            responses.add(response);
+        }
+        try {
+            applicantRepository.saveAll(applicantsByEmail.values());
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        applicantsByEmail.values().forEach(applicantDuplicateDetector::remember);
+
+        return ResponseEntity.ok(responses);
+    }
+
+    //  TO NOTE: clients that already have the current version of the applicant (If-None-Match) get a 304 -
+    //      in that case only the version gets loaded, but not the applicant itself.
+    //      Ids that aren't UUIDs can't exist, so they aren't looked up.
+    //      Archived applicants are only looked up when asked for (includeArchived=true), they don't change anymore.
+    @GetMapping("/applicants/{id}")
+    public ResponseEntity<?> getApplicantById(@PathVariable String id, @RequestParam Optional<Boolean> includeArchived,
+                                              WebRequest request) {
+        var applicantId = ApplicantIds.parse(id);
+        var version = applicantId.flatMap(applicantRepository::findVersionById);
+        if (version.isEmpty()) {
+            if (applicantId.isEmpty() || !includeArchived.orElse(false)) {
+                return ResponseEntity.notFound().build();
+            }
+            return applicantRepository.findArchivedById(applicantId.get())
+                    .map(a -> ResponseEntity.ok().eTag(applicantETag(a.getId(), a.getVersion())).body(a))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+        if (request.checkNotModified(applicantETag(applicantId.get(), version.get()))) {
+            return null;
+        }
+
+        var applicant = applicantRepository.findById(applicantId.get());
+
+        return applicant.map(a -> ResponseEntity.ok().eTag(applicantETag(a.getId(), a.getVersion())).body(a))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    //  TO NOTE: listings only contain the summary of the applicants (see ApplicantField.SUMMARY), other fields can be
+    //      selected with e.g. "fields=id,firstName,applicantComment". The whole applicant is available by its id.
+    @GetMapping("/properties/{propertyId}/applicants")
+    public ResponseEntity<List<ApplicantSummary>> getApplicants(@PathVariable UUID propertyId,
+                                                                @RequestParam Optional<Status> status,
+                                                                @RequestParam Optional<Integer> numberOfPersons,
+                                                                @RequestParam Optional<Boolean> wbsPresent,
+                                                                @RequestParam Optional<Boolean> pets,
+                                                                @RequestParam Optional<String> partOfEmail,
+                                                                @RequestParam @DateTimeFormat(iso = DATE) Optional<LocalDate> moveInFrom,
+                                                                @RequestParam @DateTimeFormat(iso = DATE) Optional<LocalDate> moveInTo,
+                                                                @RequestParam Optional<String> fields,
+                                                                @RequestParam Optional<String> cursor,
+                                                                @RequestParam Optional<Integer> limit,
+                                                                @RequestParam Optional<Boolean> includeArchived,
+                                                                WebRequest request) {
+        var pageSize = limit.orElse(DEFAULT_PAGE_SIZE);
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        var afterCursor = cursor.flatMap(ApplicantCursor::decode);
+        if (cursor.isPresent() && afterCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (moveInFrom.isPresent() && moveInTo.isPresent() && moveInFrom.get().isAfter(moveInTo.get())) {
+            return ResponseEntity.badRequest().build();
+        }
+        var selectedFields = fields.isPresent() ? ApplicantField.parse(fields.get()) : Optional.of(ApplicantField.SUMMARY);
+        if (selectedFields.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var filter = ApplicantFilter.builder()
+                .propertyId(propertyId)
+                .status(status.orElse(null))
+                .numberOfPersons(numberOfPersons.orElse(null))
+                .wbsPresent(wbsPresent.orElse(null))
+                .pets(pets.orElse(null))
+                .partOfEmail(partOfEmail.orElse(null))
+                .moveInFrom(moveInFrom.orElse(null))
+                .moveInTo(moveInTo.orElse(null))
+                .build();
+        ApplicantRequestTags.tagFilters(request, filter);
+
+        //  TO NOTE: the listings of a property only change when one of its applicants changes (or is archived),
+        //      so its last modification is used as ETag / Last-Modified for all of them.
+        var lastModification = applicantListingCache.getLastModification(propertyId);
+        if (request.checkNotModified(listingETag(lastModification), lastModification.toEpochMilli())) {
+            return null;
+        }
+
+        //  TO NOTE: we fetch one more applicant than requested, so that we know whether there is a next page.
+        //      Listings that include the archive aren't cached (they are rare).
+        var listing = includeArchived.orElse(false)
+                ? new ApplicantListing(applicantRepository.findAllMatchingIncludingArchived(
+                        filter, afterCursor.orElse(null), pageSize + 1, selectedFields.get()), lastModification)
+                : applicantListingCache.get(filter, afterCursor.orElse(null), pageSize + 1, selectedFields.get());
+        var applicants = listing.getApplicants();
+        ApplicantRequestTags.tagResultSize(request, Math.min(applicants.size(), pageSize));
+        var response = ResponseEntity.ok()
+                .eTag(listingETag(listing.getLastModification()))
+                .lastModified(listing.getLastModification());
+
+        if (applicants.size() <= pageSize) {
+            return response.body(applicants);
+        }
+        var page = applicants.subList(0, pageSize);
+        var nextCursor = ApplicantCursor.of(page.get(pageSize - 1)).encode();
+        var nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+        return response
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"")
+                .body(page);
+    }
+
+    private static String applicantETag(UUID id, long version) {
+        return "W/\"" + id + "-" + version + "\"";
+    }
+
+    private static String listingETag(Instant lastModification) {
+        return "W/\"" + lastModification.getEpochSecond() + "." + lastModification.getNano() + "\"";
+    }
+
+    private ResponseEntity<StoreApplicantResponse> existingApplicant(UUID id) {
+        var response = new StoreApplicantResponse();
+        response.setId(id);
+        return ResponseEntity.ok().location(URI.create("/applicants/" + id)).body(response);
+    }
+
+    private String retryAfterSeconds() {
+        return String.valueOf(Math.max(1, applicantIngestionProperties.getRetryAfter().toSeconds()));
+    }
+
+    private List<String> validate(ExternalApplicant externalApplicant) {
+        if (externalApplicant == null) {
+            return List.of("must not be null");
+        }
+        return validator.validate(externalApplicant).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    //  package-private for the benchmarks
+    static Applicant toApplicant(UUID propertyId, ExternalApplicant externalApplicant) {
         var applicant = new Applicant();
-        applicant.setId(String.valueOf(UUID.randomUUID()));
+        applicant.setId(ApplicantIds.next());
         applicant.setEmail(externalApplicant.getEmail());
         applicant.setFirstName(externalApplicant.getFirstName());
         applicant.setLastName(externalApplicant.getLastName());
@@ -65,32 +317,6 @@ public class ApplicantsController {
         applicant.setPets(externalApplicant.isPets());
         applicant.setNumberOfPersons(externalApplicant.getNumberOfPersons());
         applicant.setEarliestMoveInDate(externalApplicant.getEarliestMoveInDate());
-        applicantRepository.save(applicant);
-
-        var response = new StoreApplicantResponse();
-        response.setId(applicant.getId());
-        return ResponseEntity.created(URI.create("/applicants/" + response.getId())).body(response);
-    }
-
-    @GetMapping("/applicants/{id}")
-    public ResponseEntity<Applicant> getApplicantById(@PathVariable String id) {
-        var applicant = applicantRepository.findById(id);
-
-        return applicant.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
-    }
-
-    @GetMapping("/properties/{propertyId}/applicants")
-    public ResponseEntity<List<Applicant>> getApplicants(@PathVariable UUID propertyId,
-                                                         @RequestParam Optional<Status> status,
-                                                         @RequestParam Optional<Integer> numberOfPersons,
-                                                         @RequestParam Optional<Boolean> wbsPresent,
-                                                         @RequestParam Optional<String> partOfEmail) {
-        var applicants = applicantRepository.findAllByAttributes(propertyId,
-                status.orElse(null),
-                numberOfPersons.orElse(null),
-                wbsPresent.orElse(null),
-                partOfEmail.orElse(null));
-
-        return ResponseEntity.ok(applicants);
+        return applicant;
     }
 }
@@ -0,0 +1,61 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+//  TO NOTE: a single pass over the characters with lookup tables - no matcher and no other objects are created.
+//      Like @Pattern, null is valid (that's up to @NotBlank).
+public class EmailValidator implements ConstraintValidator<ValidEmail, CharSequence> {
+
+    private static final boolean[] LOCAL_PART_CHARACTERS = new boolean[128];
+    private static final boolean[] DOMAIN_CHARACTERS = new boolean[128];
+
+    static {
+        for (var c = 'a'; c <= 'z'; c++) {
+            allow(c);
+        }
+        for (var c = 'A'; c <= 'Z'; c++) {
+            allow(c);
+        }
+        for (var c = '0'; c <= '9'; c++) {
+            allow(c);
+        }
+        allow('.');
+        allow('-');
+        for (var c : "_!#$%&'*+/=?`{|}~^".toCharArray()) {
+            LOCAL_PART_CHARACTERS[c] = true;
+        }
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || isValidEmail(value);
+    }
+
+    static boolean isValidEmail(CharSequence value) {
+        var length = value.length();
+        var i = 0;
+        while (i < length && isAllowed(LOCAL_PART_CHARACTERS, value.charAt(i))) {
+            i++;
+        }
+        //  at least one character before the @
+        if (i == 0 || i == length || value.charAt(i) != '@') {
+            return false;
+        }
+        var domainStart = ++i;
+        while (i < length && isAllowed(DOMAIN_CHARACTERS, value.charAt(i))) {
+            i++;
+        }
+        //  at least one character after the @, nothing that isn't allowed
+        return i > domainStart && i == length;
+    }
+
+    private static boolean isAllowed(boolean[] allowedCharacters, char c) {
+        return c < allowedCharacters.length && allowedCharacters[c];
+    }
+
+    private static void allow(char c) {
+        LOCAL_PART_CHARACTERS[c] = true;
+        DOMAIN_CHARACTERS[c] = true;
+    }
+}
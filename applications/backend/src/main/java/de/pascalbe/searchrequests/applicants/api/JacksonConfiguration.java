@@ -0,0 +1,66 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+public class JacksonConfiguration implements WebMvcConfigurer {
+
+    //  TO NOTE: Spring Boot adds all modules to its object mapper. Blackbird replaces the reflective getter / setter
+    //      calls with generated lambdas, which makes (de)serializing the DTOs and applicants cheaper.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    //  TO NOTE: Spring MVC already has CBOR / Smile converters when the data formats are on the classpath, but their
+    //      object mappers don't get Spring Boot's Jackson configuration (e.g. the modules above). Converter beans
+    //      of the same type replace them at the same position, i.e. after the JSON converter - so clients that
+    //      accept anything still get JSON.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryFormat(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryFormat(builder, new SmileFactory()));
+    }
+
+    //  binary formats would write UUIDs (e.g. the ids) as 16 bytes - they are strings in all formats, as clients
+    //      use them in URLs
+    private static ObjectMapper binaryFormat(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .postConfigurer(objectMapper -> objectMapper.configOverride(UUID.class)
+                        .setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING)))
+                .build();
+    }
+
+    //  not a bean, because additional converter beans are put in front of the JSON converter
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (var i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                var objectMapper = ((MappingJackson2HttpMessageConverter) converters.get(i)).getObjectMapper();
+                converters.add(i + 1, new NdjsonHttpMessageConverter(objectMapper));
+                return;
+            }
+        }
+    }
+}
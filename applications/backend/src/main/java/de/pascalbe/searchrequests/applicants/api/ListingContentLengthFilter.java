@@ -0,0 +1,39 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+//  TO NOTE: Tomcat only leaves responses uncompressed that are smaller than server.compression.min-response-size
+//      when it knows their length - which it doesn't for the (chunked) JSON responses. Listings are in memory anyway
+//      (and limited in size), so they are buffered once more to send them with a Content-Length.
+//      Exports are streamed and always compressed (when the client accepts it).
+@Component
+public class ListingContentLengthFilter extends OncePerRequestFilter {
+
+    private static final Pattern LISTING_PATH = Pattern.compile("/properties/[^/]+/applicants");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return !request.getMethod().equals("GET") || !LISTING_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -4,13 +4,13 @@ import de.pascalbe.searchrequests.applicants.domain.Salutation;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.Pattern;
 
 @Data
 public class ManualApplicant {
 
-    //  TO NOTE: using RFC 5322 regex for email validation (see: https://www.baeldung.com/java-email-validation-regex#regular-expression-by-rfc-5322-for-email-validation)
-    @Pattern(regexp = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$")
+    //  TO NOTE: accepts the emails of the RFC 5322 regex (see: https://www.baeldung.com/java-email-validation-regex#regular-expression-by-rfc-5322-for-email-validation),
+    //      but checks them without running the regex (see EmailValidator).
+    @ValidEmail
     @NotBlank
     private String email;
 
@@ -0,0 +1,55 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.Collection;
+
+//  TO NOTE: writes collections (e.g. listings) as newline delimited JSON - one element per line, so that clients can
+//      process the elements without parsing the whole response first. Only used for responses.
+class NdjsonHttpMessageConverter extends AbstractHttpMessageConverter<Collection<?>> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    NdjsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_NDJSON);
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("NDJSON can't be read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Collection<?> values, HttpOutputMessage outputMessage) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(outputMessage.getBody())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (var value : values) {
+                writer.writeValue(generator, value);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCursor;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantField;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantFilter;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIds;
+import de.pascalbe.searchrequests.applicants.domain.ReactiveApplicantReader;
+import de.pascalbe.searchrequests.applicants.domain.Status;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+
+//  TO NOTE: the reactive variants of the GET endpoints. Spring MVC subscribes to the returned publishers and
+//      releases the request thread in the meantime, so waiting for the DB doesn't block a Tomcat thread.
+//      Listings requested as NDJSON are streamed (one applicant per line, as fast as the client reads them),
+//      JSON listings are collected first. Paging works with the cursor of the last applicant of a page, but there
+//      are no next cursor / Link headers (they would need the whole page before the response starts).
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty("applicants.reactive-reads.enabled")
+public class ReactiveApplicantsController {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveApplicantReader reactiveApplicantReader;
+
+    @GetMapping("/reactive/applicants/{id}")
+    public Mono<ResponseEntity<Applicant>> getApplicantById(@PathVariable String id) {
+        var applicantId = ApplicantIds.parse(id);
+        if (applicantId.isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return reactiveApplicantReader.findById(applicantId.get())
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/reactive/properties/{propertyId}/applicants",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<? extends Publisher<?>> getApplicants(@PathVariable UUID propertyId,
+                                                                @RequestParam Optional<Status> status,
+                                                                @RequestParam Optional<Integer> numberOfPersons,
+                                                                @RequestParam Optional<Boolean> wbsPresent,
+                                                                @RequestParam Optional<Boolean> pets,
+                                                                @RequestParam Optional<String> partOfEmail,
+                                                                @RequestParam @DateTimeFormat(iso = DATE) Optional<LocalDate> moveInFrom,
+                                                                @RequestParam @DateTimeFormat(iso = DATE) Optional<LocalDate> moveInTo,
+                                                                @RequestParam Optional<String> fields,
+                                                                @RequestParam Optional<String> cursor,
+                                                                @RequestParam Optional<Integer> limit,
+                                                                @RequestHeader(HttpHeaders.ACCEPT) Optional<String> accept) {
+        var pageSize = limit.orElse(DEFAULT_PAGE_SIZE);
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        var afterCursor = cursor.flatMap(ApplicantCursor::decode);
+        if (cursor.isPresent() && afterCursor.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (moveInFrom.isPresent() && moveInTo.isPresent() && moveInFrom.get().isAfter(moveInTo.get())) {
+            return ResponseEntity.badRequest().build();
+        }
+        var selectedFields = fields.isPresent() ? ApplicantField.parse(fields.get()) : Optional.of(ApplicantField.SUMMARY);
+        if (selectedFields.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var filter = ApplicantFilter.builder()
+                .propertyId(propertyId)
+                .status(status.orElse(null))
+                .numberOfPersons(numberOfPersons.orElse(null))
+                .wbsPresent(wbsPresent.orElse(null))
+                .pets(pets.orElse(null))
+                .partOfEmail(partOfEmail.orElse(null))
+                .moveInFrom(moveInFrom.orElse(null))
+                .moveInTo(moveInTo.orElse(null))
+                .build();
+
+        var applicants = reactiveApplicantReader.findAllMatching(filter, afterCursor.orElse(null), pageSize,
+                selectedFields.get());
+        //  Spring MVC would stream every Flux as soon as a streaming type is producible, even for "Accept: */*"
+        if (accept.map(MediaType::parseMediaTypes).orElse(List.of()).contains(MediaType.APPLICATION_NDJSON)) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(applicants);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(applicants.collectList());
+    }
+}
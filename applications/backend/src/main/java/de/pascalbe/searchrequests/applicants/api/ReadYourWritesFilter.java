@@ -0,0 +1,71 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import de.pascalbe.searchrequests.applicants.domain.ApplicantReadReplicaProperties;
+import de.pascalbe.searchrequests.applicants.domain.ReplicaRouting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+//  TO NOTE: a client that changed something reads from the primary for a while (the replicas might not have its
+//      change yet), other clients keep reading from the replicas. The end of the window is kept in a cookie, so it
+//      doesn't matter which instance the next request goes to. Clients without cookies only get their own writes
+//      within the same request.
+@Component
+@ConditionalOnProperty("applicants.read-replicas.enabled")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "applicants-read-primary-until";
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(ApplicantReadReplicaProperties properties) {
+        this.windowMillis = properties.getReadYourWritesWindow().toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            //  before the chain, the response might be committed afterwards
+            var cookie = new Cookie(COOKIE_NAME, Long.toString(now + windowMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.ceil(windowMillis / 1000.0));
+            response.addCookie(cookie);
+            ReplicaRouting.requirePrimary();
+        } else if (readsPrimaryUntil(request) > now) {
+            ReplicaRouting.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.reset();
+        }
+    }
+
+    private static long readsPrimaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (var cookie : request.getCookies()) {
+            if (cookie.getName().equals(COOKIE_NAME)) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class StoreApplicantBatchItemResponse {
+
+    private int index;
+
+    private UUID id;
+
+    private List<String> errors;
+}
@@ -2,8 +2,10 @@ package de.pascalbe.searchrequests.applicants.api;
 
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 public class StoreApplicantResponse {
 
-    private String id;
+    private UUID id;
 }
@@ -0,0 +1,31 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+//  TO NOTE: the bucket is only refilled when a token is taken (by the time that passed since), so idle buckets
+//      don't cost anything. The time is passed in, so that the bucket can be tested without waiting.
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAtNanos;
+
+    TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.refilledAtNanos = nowNanos;
+    }
+
+    //  0 when the tokens were taken, otherwise the time until they are available. More tokens than the capacity are
+    //  taken once the bucket is full - the bucket is in debt afterwards, which delays the next requests accordingly.
+    synchronized long tryTake(long count, long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - refilledAtNanos) * tokensPerNano);
+        refilledAtNanos = nowNanos;
+        var required = Math.min(count, capacity);
+        if (tokens >= required) {
+            tokens -= count;
+            return 0;
+        }
+        return (long) Math.ceil((required - tokens) / tokensPerNano);
+    }
+}
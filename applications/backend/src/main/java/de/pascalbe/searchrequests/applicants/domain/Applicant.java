@@ -1,21 +1,38 @@
 package de.pascalbe.searchrequests.applicants.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PrePersist;
+import javax.persistence.Transient;
+import javax.persistence.Version;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.UUID;
 
 //  TO NOTE: we should put some constraints on the DB so that DB calls fail, when required columns are not there.
 //      Leaving this out to not invest too much time now.
 @Entity
+@EntityListeners(ApplicantChangeListener.class)
 @Data
-public class Applicant {
+public class Applicant implements Persistable<UUID> {
 
     @Id
-    private String id;
+    private UUID id;
 
     private UUID propertyId;
 
@@ -34,6 +51,12 @@ public class Applicant {
     @CreationTimestamp
     private Instant creationTimestamp;
 
+    @UpdateTimestamp
+    private Instant lastModifiedTimestamp;
+
+    @Version
+    private long version;
+
     private Status status;
 
     private boolean wbsPresent;
@@ -42,8 +65,45 @@ public class Applicant {
 
     private int numberOfPersons;
 
-    //  TODO: determine which type makes sense and adjust it
-    private String earliestMoveInDate;
+    private LocalDate earliestMoveInDate;
 
     private String applicantComment;
+
+    //  TO NOTE: only set for portal applicants, which are unique per property and normalized email (see
+    //      ApplicantDuplicateDetector) - manual applicants can still be added multiple times.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String normalizedEmail;
+
+    //  TO NOTE: the id is assigned by us and not by the DB, so Spring Data can't tell on its own whether an applicant
+    //      is new. Without this, every save would first SELECT the applicant (merge) and inserts couldn't be batched.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newApplicant = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newApplicant;
+    }
+
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    void assignNormalizedEmail() {
+        if (creationSource == CreationSource.PORTAL && email != null) {
+            normalizedEmail = normalizeEmail(email);
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newApplicant = false;
+    }
 }
@@ -0,0 +1,23 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("applicants.archive")
+public class ApplicantArchiveProperties {
+
+    //  when disabled, applicants are never moved to the archive (the archive can still be searched)
+    private boolean enabled = false;
+
+    //  declined applicants that weren't changed for this long are archived
+    private Duration declinedAfter = Duration.ofDays(30);
+
+    //  all applicants that weren't changed for this long are archived (e.g. the ones of properties that were rented)
+    private Duration inactiveAfter = Duration.ofDays(180);
+
+    //  number of applicants moved per transaction
+    private int batchSize = 500;
+}
@@ -0,0 +1,96 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+//  TO NOTE: moves old applicants from the applicant table to the archive (archived_applicant), so that the applicant
+//      table and its indexes only contain the applicants that are still worked with. Listings and lookups only search
+//      the archive when asked to. The applicants are moved in batches, each in its own transaction (copied and then
+//      deleted), so a failed run only leaves whole batches behind. Postgres reuses the space of the deleted rows
+//      after they were vacuumed - the table only shrinks on disk with VACUUM FULL (or pg_repack).
+@Component
+@Slf4j
+public class ApplicantArchiver {
+
+    private final ApplicantRepository applicantRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicantArchiveProperties properties;
+    private final Counter archivedApplicants;
+
+    public ApplicantArchiver(ApplicantRepository applicantRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                             ApplicantArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.applicantRepository = applicantRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.archivedApplicants = Counter.builder("applicants.archived")
+                .description("applicants moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${applicants.archive.interval:PT1H}", fixedDelayString = "${applicants.archive.interval:PT1H}")
+    public void archiveOnSchedule() {
+        if (properties.isEnabled()) {
+            archive(Instant.now());
+        }
+    }
+
+    //  the applicants that are old enough at the given time
+    public int archive(Instant now) {
+        var start = System.nanoTime();
+        var archived = 0;
+        int batch;
+        do {
+            batch = Objects.requireNonNull(transactionTemplate.execute(status -> archiveBatch(now)));
+            archived += batch;
+        } while (batch == properties.getBatchSize());
+        if (archived > 0) {
+            log.info("Archived {} applicants in {} ms", archived, (System.nanoTime() - start) / 1_000_000);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(Instant now) {
+        var applicants = applicantRepository.lockArchivable(Status.DECLINED,
+                now.minus(properties.getDeclinedAfter()), now.minus(properties.getInactiveAfter()),
+                PageRequest.of(0, properties.getBatchSize()));
+        if (applicants.isEmpty()) {
+            return 0;
+        }
+        applicants.forEach(applicant -> entityManager.persist(ArchivedApplicant.of(applicant, now)));
+        entityManager.flush();
+        entityManager.clear();
+        var ids = applicants.stream().map(Applicant::getId).collect(Collectors.toList());
+        //  the original text of the move-in date (see V7) isn't mapped, but has to be kept as well
+        entityManager.createNativeQuery("UPDATE archived_applicant SET earliest_move_in_date_legacy = " +
+                        "(SELECT a.earliest_move_in_date_legacy FROM applicant a WHERE a.id = archived_applicant.id) " +
+                        "WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        applicantRepository.deleteAllByIds(ids);
+
+        applicants.stream()
+                .collect(Collectors.groupingBy(Applicant::getPropertyId,
+                        Collectors.mapping(Applicant::getId, Collectors.toList())))
+                .forEach((propertyId, applicantIds) ->
+                        eventPublisher.publishEvent(new ApplicantsArchivedEvent(propertyId, applicantIds)));
+        archivedApplicants.increment(applicants.size());
+        return applicants.size();
+    }
+}
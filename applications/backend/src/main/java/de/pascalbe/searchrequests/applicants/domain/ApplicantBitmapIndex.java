@@ -0,0 +1,152 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+//  TO NOTE: an in-memory index of the filterable attributes of all applicants (see ApplicantPropertyIndex), so that
+//      listings with those filters don't have to be filtered by the DB - only the applicants of the page are loaded
+//      by their ids. Listings with filters that aren't indexed (email, move-in date) are still done by the DB.
+//      The index is built once on startup and kept up to date with the changes of this instance, so it only works
+//      when all changes of applicants go through one instance. Changes that are committed while the index is built
+//      are applied afterwards (applying a change twice doesn't matter). Until the index is built, the DB is used.
+@Component
+@Slf4j
+public class ApplicantBitmapIndex {
+
+    private final ApplicantRepository applicantRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Map<UUID, ApplicantPropertyIndex> indexesByProperty = new ConcurrentHashMap<>();
+    private final List<Runnable> changesWhileBuilding = new ArrayList<>();
+    private volatile boolean ready;
+    private final Counter indexLookups;
+    private final Counter databaseLookups;
+
+    public ApplicantBitmapIndex(ApplicantRepository applicantRepository, PlatformTransactionManager transactionManager,
+                                ApplicantBitmapIndexProperties properties, MeterRegistry meterRegistry) {
+        this.applicantRepository = applicantRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = properties.isEnabled();
+
+        this.indexLookups = Counter.builder("applicants.bitmap.index.lookups").tag("result", "index").register(meterRegistry);
+        this.databaseLookups = Counter.builder("applicants.bitmap.index.lookups").tag("result", "database").register(meterRegistry);
+        Gauge.builder("applicants.bitmap.index.size", indexesByProperty,
+                        indexes -> indexes.values().stream().mapToInt(ApplicantPropertyIndex::size).sum())
+                .description("indexed applicants")
+                .register(meterRegistry);
+    }
+
+    //  TO NOTE: the app already serves requests at this point (they use the DB until the index is built)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        var start = System.nanoTime();
+        //  a replica might not have the changes yet that were made before the build (they aren't buffered)
+        ReplicaRouting.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (var entries = applicantRepository.streamAllIndexEntries()) {
+                entries.forEach(this::index);
+            }
+        }));
+        synchronized (changesWhileBuilding) {
+            changesWhileBuilding.forEach(Runnable::run);
+            changesWhileBuilding.clear();
+            ready = true;
+        }
+        log.info("Indexed the applicants of {} properties in {} ms", indexesByProperty.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    //  empty when the DB has to filter the applicants
+    public Optional<List<UUID>> findIds(ApplicantFilter filter, @Nullable ApplicantCursor after, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (!ready || filter.getPartOfEmail() != null || filter.getMoveInFrom() != null || filter.getMoveInTo() != null) {
+            databaseLookups.increment();
+            return Optional.empty();
+        }
+        indexLookups.increment();
+        var index = indexesByProperty.get(filter.getPropertyId());
+        return Optional.of(index == null ? List.of() : index.findIds(filter, after, limit));
+    }
+
+    //  before the listings are invalidated, so that they aren't loaded again from the old index
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantCreatedEvent event) {
+        onChange(event.getApplicant());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantUpdatedEvent event) {
+        onChange(event.getApplicant());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantStatusChangedEvent event) {
+        apply(() -> {
+            var index = indexesByProperty.get(event.getPropertyId());
+            if (index != null) {
+                event.getApplicantIds().forEach(id -> index.changeStatus(id, event.getStatus()));
+            }
+        });
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantsArchivedEvent event) {
+        apply(() -> {
+            var index = indexesByProperty.get(event.getPropertyId());
+            if (index != null) {
+                index.removeAll(event.getApplicantIds());
+            }
+        });
+    }
+
+    private void onChange(Applicant applicant) {
+        var entry = ApplicantIndexEntry.of(applicant);
+        apply(() -> index(entry));
+    }
+
+    private void apply(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            synchronized (changesWhileBuilding) {
+                if (!ready) {
+                    changesWhileBuilding.add(change);
+                    return;
+                }
+            }
+        }
+        change.run();
+    }
+
+    private void index(ApplicantIndexEntry entry) {
+        indexesByProperty.computeIfAbsent(entry.getPropertyId(), propertyId -> new ApplicantPropertyIndex()).put(entry);
+    }
+}
@@ -0,0 +1,12 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("applicants.bitmap-index")
+public class ApplicantBitmapIndexProperties {
+
+    //  keeps an index of all applicants in memory (built on startup), listings with the indexed filters use it
+    private boolean enabled = false;
+}
@@ -0,0 +1,26 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+
+//  TO NOTE: this JPA entity listener is created by spring (hibernate uses the spring bean container in spring boot),
+//      so it can publish events. The events are published while the transaction is still running -
+//      listeners that should only see committed changes have to be @TransactionalEventListeners.
+@RequiredArgsConstructor
+class ApplicantChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    void applicantCreated(Applicant applicant) {
+        eventPublisher.publishEvent(new ApplicantCreatedEvent(applicant));
+    }
+
+    @PostUpdate
+    void applicantUpdated(Applicant applicant) {
+        eventPublisher.publishEvent(new ApplicantUpdatedEvent(applicant));
+    }
+}
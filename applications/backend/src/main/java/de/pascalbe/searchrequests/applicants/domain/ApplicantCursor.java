@@ -0,0 +1,49 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+//  TO NOTE: the cursor points to the last applicant of a page. Clients should treat the encoded form as opaque,
+//      so that we can change what's inside of it without breaking them.
+@Value
+public class ApplicantCursor {
+
+    private static final String SEPARATOR = ":";
+
+    Instant creationTimestamp;
+
+    UUID id;
+
+    public static ApplicantCursor of(Applicant applicant) {
+        return new ApplicantCursor(applicant.getCreationTimestamp(), applicant.getId());
+    }
+
+    public static ApplicantCursor of(ApplicantSummary applicant) {
+        return new ApplicantCursor(applicant.getCreationTimestamp(), applicant.getId());
+    }
+
+    public static Optional<ApplicantCursor> decode(String encodedCursor) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+            var parts = decoded.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            var creationTimestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return ApplicantIds.parse(parts[2]).map(id -> new ApplicantCursor(creationTimestamp, id));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        var raw = creationTimestamp.getEpochSecond() + SEPARATOR + creationTimestamp.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,20 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("applicants.duplicate-detection")
+public class ApplicantDuplicateDetectionProperties {
+
+    //  properties with an email filter in memory
+    private long maximumProperties = 10_000;
+
+    //  filters of properties without new applicants are dropped and loaded again when needed
+    private Duration expireAfterAccess = Duration.ofHours(1);
+
+    //  share of new applicants that are looked up in the DB although they aren't duplicates
+    private double falsePositiveProbability = 0.01;
+}
@@ -0,0 +1,83 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+//  TO NOTE: portals resend applicants, which are then recognized by their (normalized) email within the property.
+//      Looking every applicant up in the DB would double the DB calls, so there is a Bloom filter of the emails
+//      per property - most new applicants are recognized as new without a DB call, only the possible duplicates are
+//      looked up. The unique index on (property_id, normalized_email) stays the source of truth, e.g. for applicants
+//      that are stored concurrently or by other instances (which aren't in this instance's filters).
+@Component
+public class ApplicantDuplicateDetector {
+
+    //  new properties get applicants, so the filters are created with some room
+    private static final long MINIMUM_EXPECTED_EMAILS = 1024;
+
+    private final ApplicantRepository applicantRepository;
+    private final Cache<UUID, EmailBloomFilter> filtersByProperty;
+    private final double falsePositiveProbability;
+    private final Counter skippedLookups;
+    private final Counter duplicateLookups;
+    private final Counter falsePositiveLookups;
+
+    public ApplicantDuplicateDetector(ApplicantRepository applicantRepository,
+                                      ApplicantDuplicateDetectionProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.applicantRepository = applicantRepository;
+        this.filtersByProperty = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumProperties())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .build();
+        this.falsePositiveProbability = properties.getFalsePositiveProbability();
+
+        this.skippedLookups = Counter.builder("applicants.duplicate.checks").tag("result", "skipped").register(meterRegistry);
+        this.duplicateLookups = Counter.builder("applicants.duplicate.checks").tag("result", "duplicate").register(meterRegistry);
+        this.falsePositiveLookups = Counter.builder("applicants.duplicate.checks").tag("result", "false-positive").register(meterRegistry);
+    }
+
+    public Optional<UUID> findExistingId(Applicant applicant) {
+        var normalizedEmail = Applicant.normalizeEmail(applicant.getEmail());
+        if (!filterOf(applicant.getPropertyId()).mightContain(normalizedEmail)) {
+            skippedLookups.increment();
+            return Optional.empty();
+        }
+
+        var existingId = applicantRepository.findIdByNormalizedEmail(applicant.getPropertyId(), normalizedEmail);
+        (existingId.isPresent() ? duplicateLookups : falsePositiveLookups).increment();
+        return existingId;
+    }
+
+    //  without the filter, e.g. when storing the applicant failed because of the unique index
+    public Optional<UUID> findStoredId(Applicant applicant) {
+        return applicantRepository.findIdByNormalizedEmail(applicant.getPropertyId(),
+                Applicant.normalizeEmail(applicant.getEmail()));
+    }
+
+    public void remember(Applicant applicant) {
+        var filter = filterOf(applicant.getPropertyId());
+        filter.add(Applicant.normalizeEmail(applicant.getEmail()));
+        if (filter.isFull()) {
+            //  gets loaded again with enough room for the emails of the property
+            filtersByProperty.invalidate(applicant.getPropertyId());
+        }
+    }
+
+    private EmailBloomFilter filterOf(UUID propertyId) {
+        return filtersByProperty.get(propertyId, this::load);
+    }
+
+    private EmailBloomFilter load(UUID propertyId) {
+        var normalizedEmails = applicantRepository.findAllNormalizedEmailsOfProperty(propertyId);
+        var filter = new EmailBloomFilter(Math.max(MINIMUM_EXPECTED_EMAILS, 2L * normalizedEmails.size()),
+                falsePositiveProbability);
+        normalizedEmails.forEach(filter::add);
+        return filter;
+    }
+}
@@ -0,0 +1,67 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//  TO NOTE: the fields of an applicant that can be selected for listings (by their JSON / entity attribute name).
+//      Listings only return the summary fields by default, the free-text comments are only loaded when asked for.
+public enum ApplicantField {
+    ID("id", "id"),
+    PROPERTY_ID("propertyId", "property_id"),
+    EMAIL("email", "email"),
+    FIRST_NAME("firstName", "first_name"),
+    LAST_NAME("lastName", "last_name"),
+    USER_COMMENT("userComment", "user_comment"),
+    SALUTATION("salutation", "salutation"),
+    CREATION_SOURCE("creationSource", "creation_source"),
+    CREATION_TIMESTAMP("creationTimestamp", "creation_timestamp"),
+    LAST_MODIFIED_TIMESTAMP("lastModifiedTimestamp", "last_modified_timestamp"),
+    VERSION("version", "version"),
+    STATUS("status", "status"),
+    WBS_PRESENT("wbsPresent", "wbs_present"),
+    PETS("pets", "pets"),
+    NUMBER_OF_PERSONS("numberOfPersons", "number_of_persons"),
+    EARLIEST_MOVE_IN_DATE("earliestMoveInDate", "earliest_move_in_date"),
+    APPLICANT_COMMENT("applicantComment", "applicant_comment");
+
+    public static final Set<ApplicantField> SUMMARY = Collections.unmodifiableSet(
+            EnumSet.of(ID, EMAIL, FIRST_NAME, LAST_NAME, CREATION_TIMESTAMP, STATUS));
+
+    private static final Map<String, ApplicantField> BY_ATTRIBUTE_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(ApplicantField::getAttributeName, Function.identity()));
+
+    private final String attributeName;
+    private final String columnName;
+
+    ApplicantField(String attributeName, String columnName) {
+        this.attributeName = attributeName;
+        this.columnName = columnName;
+    }
+
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    //  comma separated attribute names, e.g. "firstName,lastName,applicantComment" - empty for unknown names
+    public static Optional<Set<ApplicantField>> parse(String attributeNames) {
+        var fields = EnumSet.noneOf(ApplicantField.class);
+        for (var attributeName : attributeNames.split(",")) {
+            var field = BY_ATTRIBUTE_NAME.get(attributeName.trim());
+            if (field == null) {
+                return Optional.empty();
+            }
+            fields.add(field);
+        }
+        return Optional.of(Collections.unmodifiableSet(fields));
+    }
+}
@@ -0,0 +1,30 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+//  TO NOTE: all attributes besides the property id are optional - null means "don't filter by it".
+@Value
+@Builder
+public class ApplicantFilter {
+
+    UUID propertyId;
+
+    Status status;
+
+    Integer numberOfPersons;
+
+    Boolean wbsPresent;
+
+    Boolean pets;
+
+    String partOfEmail;
+
+    //  earliest move-in date range, both inclusive
+    LocalDate moveInFrom;
+
+    LocalDate moveInTo;
+}
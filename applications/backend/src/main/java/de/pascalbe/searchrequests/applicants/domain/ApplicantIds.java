@@ -0,0 +1,55 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import java.security.SecureRandom;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+
+//  TO NOTE: new applicants get time-ordered ids (UUIDv7, see RFC 9562): the first 48 bits are the creation time in
+//      milliseconds, the remaining 74 bits (besides version and variant) are random. Ids of new applicants are
+//      therefore (almost) always appended at the end of the primary key index instead of being spread all over it.
+//      The random part still comes from a SecureRandom (like UUID.randomUUID()), as the ids are used in URLs and
+//      shouldn't be guessable. Ids of applicants created before are random (version 4) UUIDs - they stay as they are.
+public final class ApplicantIds {
+
+    //  the order of postgres, which compares the bytes of uuids unsigned (UUID::compareTo and H2 1.4 compare them
+    //      signed). Only makes a difference for the random ids of old applicants, as the time-ordered ids won't
+    //      have the highest bit set for a few thousand years.
+    public static final Comparator<UUID> ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ApplicantIds() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        var randomBytes = new byte[10];
+        RANDOM.nextBytes(randomBytes);
+        var randomA = ((randomBytes[0] & 0xFFL) << 8 | (randomBytes[1] & 0xFFL)) & 0x0FFFL;
+        var randomB = 0L;
+        for (var i = 2; i < 10; i++) {
+            randomB = randomB << 8 | (randomBytes[i] & 0xFFL);
+        }
+        var mostSignificantBits = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | randomA;
+        var leastSignificantBits = randomB & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    //  the string form of the ids ("123e4567-e89b-12d3-a456-426614174000") - empty for everything else
+    public static Optional<UUID> parse(String id) {
+        if (id.length() != 36) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
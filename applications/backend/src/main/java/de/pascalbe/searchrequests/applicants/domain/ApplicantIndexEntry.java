@@ -0,0 +1,34 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+import lombok.With;
+
+import java.time.Instant;
+import java.util.UUID;
+
+//  TO NOTE: the attributes of an applicant that the bitmap index needs (see ApplicantBitmapIndex).
+//      Also used as constructor expression in ApplicantRepository, so that rebuilding the index doesn't load entities.
+@Value
+public class ApplicantIndexEntry {
+
+    UUID id;
+
+    UUID propertyId;
+
+    @With
+    Instant creationTimestamp;
+
+    @With
+    Status status;
+
+    int numberOfPersons;
+
+    boolean wbsPresent;
+
+    boolean pets;
+
+    static ApplicantIndexEntry of(Applicant applicant) {
+        return new ApplicantIndexEntry(applicant.getId(), applicant.getPropertyId(), applicant.getCreationTimestamp(),
+                applicant.getStatus(), applicant.getNumberOfPersons(), applicant.isWbsPresent(), applicant.isPets());
+    }
+}
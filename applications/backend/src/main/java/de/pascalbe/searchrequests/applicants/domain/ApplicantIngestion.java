@@ -0,0 +1,262 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//  TO NOTE: write-behind for bursts of applicants. Accepted applicants are spooled to disk and queued, and a single
+//      writer stores them in batches (as soon as a batch is full or the first applicant waited long enough).
+//      The number of accepted, but not yet stored applicants is limited - when the limit is reached, applicants are
+//      rejected, so that clients back off instead of the app running out of memory.
+//      Applicants that are still spooled on startup get stored before new ones are accepted.
+@Component
+@Slf4j
+public class ApplicantIngestion {
+
+    private final ApplicantRepository applicantRepository;
+    private final ApplicantIngestionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Accepted> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    //  applicants aren't in the DB while they're queued, so resent ones are recognized by this instead
+    private final Map<QueuedEmail, UUID> queuedIds = new ConcurrentHashMap<>();
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private ApplicantSpool spool;
+    private ExecutorService writer;
+    private volatile boolean running;
+
+    public ApplicantIngestion(ApplicantRepository applicantRepository,
+                              ApplicantIngestionProperties properties,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.applicantRepository = applicantRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = new Semaphore(properties.getQueueCapacity());
+        this.acceptedCounter = meterRegistry.counter("applicants.ingestion.requests", "result", "accepted");
+        this.rejectedCounter = meterRegistry.counter("applicants.ingestion.requests", "result", "rejected");
+        meterRegistry.gauge("applicants.ingestion.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        spool = new ApplicantSpool(properties.getSpoolDirectory(), properties.getSpoolSegmentSize(), objectMapper);
+        spool.open();
+        recover();
+
+        running = true;
+        writer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "applicant-ingestion"));
+        writer.execute(this::writeBatches);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    //  returns the id the applicant is queued with - which is the one of the same applicant, when it was sent again
+    //  before it was stored - or nothing when it was rejected, because too many applicants are waiting to be stored
+    public Optional<UUID> accept(Applicant applicant) {
+        if (!running || !capacity.tryAcquire()) {
+            rejectedCounter.increment();
+            return Optional.empty();
+        }
+        var email = QueuedEmail.of(applicant);
+        var queuedId = queuedIds.putIfAbsent(email, applicant.getId());
+        if (queuedId != null) {
+            capacity.release();
+            return Optional.of(queuedId);
+        }
+        try {
+            queue.add(new Accepted(applicant, spool.append(applicant)));
+        } catch (RuntimeException e) {
+            queuedIds.remove(email, applicant.getId());
+            capacity.release();
+            throw e;
+        }
+        acceptedCounter.increment();
+        return Optional.of(applicant.getId());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} applicants weren't stored before shutdown, they get stored on the next startup", queue.size());
+            writer.shutdownNow();
+        }
+        spool.close();
+    }
+
+    private void recover() {
+        for (var segment : spool.findSegments()) {
+            var applicants = spool.read(segment);
+            for (var from = 0; from < applicants.size(); from += properties.getBatchSize()) {
+                var batch = applicants.subList(from, Math.min(from + properties.getBatchSize(), applicants.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> storeMissing(batch));
+                } catch (DataIntegrityViolationException e) {
+                    //  e.g. an applicant that was resent by the portal - it mustn't keep the app from starting
+                    log.warn("Could not store a batch of {} spooled applicants, storing them one by one", batch.size(), e);
+                    batch.forEach(this::recoverAlone);
+                }
+            }
+            spool.delete(segment);
+            log.info("Recovered {} spooled applicants from {}", applicants.size(), segment);
+        }
+    }
+
+    private void recoverAlone(Applicant applicant) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> storeMissing(List.of(applicant)));
+        } catch (DataIntegrityViolationException e) {
+            log.error("Could not store spooled applicant {}, skipping it", applicant, e);
+        }
+    }
+
+    //  applicants could already be stored, when the app crashed before their segment was cleaned up
+    private void storeMissing(List<Applicant> applicants) {
+        var ids = applicants.stream().map(Applicant::getId).collect(Collectors.toList());
+        var existingIds = applicantRepository.findAllById(ids).stream()
+                .map(Applicant::getId)
+                .collect(Collectors.toSet());
+        applicantRepository.saveAll(applicants.stream()
+                .filter(applicant -> !existingIds.contains(applicant.getId()))
+                .collect(Collectors.toList()));
+    }
+
+    private void writeBatches() {
+        var batch = new ArrayList<Accepted>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+                if (!batch.isEmpty()) {
+                    var stored = store(batch);
+                    batch.clear();
+                    if (!stored) {
+                        //  the rest of the queue stays in the spool as well
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void collectBatch(List<Accepted> batch) throws InterruptedException {
+        var first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        var deadline = System.nanoTime() + properties.getMaxBatchDelay().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    //  false when the app was stopped before the batch could be stored - it stays in the spool for the next startup
+    private boolean store(List<Accepted> batch) throws InterruptedException {
+        var applicants = batch.stream().map(accepted -> accepted.applicant).collect(Collectors.toList());
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> applicantRepository.saveAll(applicants));
+                batch.forEach(this::stored);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                if (batch.size() > 1) {
+                    //  one broken applicant shouldn't keep the others from being stored
+                    log.warn("Could not store a batch of {} applicants, storing them one by one", batch.size(), e);
+                    return storeOneByOne(batch);
+                }
+                //  retrying won't help - the applicant gets dropped, so that it doesn't block the others
+                log.error("Could not store applicant {}, dropping it", batch.get(0).applicant, e);
+                stored(batch.get(0));
+                return true;
+            } catch (RuntimeException e) {
+                //  e.g. the DB isn't reachable - the applicants were acknowledged, so they are never dropped for this
+                log.warn("Could not store a batch of {} applicants, retrying", batch.size(), e);
+                if (!running) {
+                    return false;
+                }
+                Thread.sleep(properties.getRetryDelay().toMillis());
+            }
+        }
+    }
+
+    private boolean storeOneByOne(List<Accepted> batch) throws InterruptedException {
+        for (var accepted : batch) {
+            if (!store(List.of(accepted))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void stored(Accepted accepted) {
+        //  from now on, the duplicate detection finds the applicant in the DB
+        queuedIds.remove(QueuedEmail.of(accepted.applicant), accepted.applicant.getId());
+        spool.stored(accepted.segment);
+        capacity.release();
+    }
+
+    @Value
+    private static class QueuedEmail {
+
+        UUID propertyId;
+        String normalizedEmail;
+
+        static QueuedEmail of(Applicant applicant) {
+            return new QueuedEmail(applicant.getPropertyId(), Applicant.normalizeEmail(applicant.getEmail()));
+        }
+    }
+
+    private static class Accepted {
+
+        private final Applicant applicant;
+        private final ApplicantSpool.Segment segment;
+
+        private Accepted(Applicant applicant, ApplicantSpool.Segment segment) {
+            this.applicant = applicant;
+            this.segment = segment;
+        }
+    }
+}
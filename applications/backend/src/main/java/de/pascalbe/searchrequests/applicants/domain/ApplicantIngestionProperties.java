@@ -0,0 +1,35 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("applicants.ingestion")
+public class ApplicantIngestionProperties {
+
+    //  when disabled, applicants are always stored synchronously
+    private boolean enabled = false;
+
+    //  maximum number of accepted applicants that aren't stored yet - further applicants are rejected
+    private int queueCapacity = 10_000;
+
+    //  maximum number of applicants stored within one transaction
+    private int batchSize = 200;
+
+    //  maximum time the first applicant of a batch waits for further applicants
+    private Duration maxBatchDelay = Duration.ofMillis(50);
+
+    //  waiting time before storing a failed batch again
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    //  tells rejected clients when to try again
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Path spoolDirectory = Path.of("applicant-spool");
+
+    //  number of applicants after which a new spool file is started
+    private int spoolSegmentSize = 10_000;
+}
@@ -0,0 +1,15 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+public class ApplicantListing {
+
+    List<ApplicantSummary> applicants;
+
+    //  latest modification of any applicant of the property (not only of the listed ones)
+    Instant lastModification;
+}
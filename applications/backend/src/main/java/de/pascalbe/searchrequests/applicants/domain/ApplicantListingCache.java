@@ -0,0 +1,218 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+//  TO NOTE: the listings are grouped by property, so that all listings of a property can be invalidated at once
+//      when one of its applicants changes. Invalidating removes the whole group from the cache - a listing that was
+//      loaded concurrently ends up in the removed group and can't be served afterwards.
+//      Changes are only seen once they are committed, changes that don't go through the app are seen after the TTL.
+//      The last modification of the property is loaded when the group is created, i.e. before any of its listings -
+//      so a listing is never older than the last modification it's returned with (which is used for ETags).
+//      That's why the whole group expires after the TTL, no matter how often it's read (e.g. by polling clients).
+//      With read replicas, the listings of properties that changed within the read-your-writes window are loaded
+//      from the primary - otherwise a listing without the change could be cached until the next change / the TTL.
+@Component
+public class ApplicantListingCache {
+
+    private final ApplicantRepository applicantRepository;
+    private final ApplicantBitmapIndex applicantBitmapIndex;
+    private final Cache<UUID, PropertyListings> listingsByProperty;
+    private final Cache<UUID, Boolean> recentlyChangedProperties;
+    private final int maximumListingsPerProperty;
+    private final long timeToLiveNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ApplicantListingCache(ApplicantRepository applicantRepository, ApplicantBitmapIndex applicantBitmapIndex,
+                                 ApplicantListingCacheProperties properties,
+                                 ApplicantReadReplicaProperties readReplicaProperties, MeterRegistry meterRegistry) {
+        this.applicantRepository = applicantRepository;
+        this.applicantBitmapIndex = applicantBitmapIndex;
+        this.timeToLiveNanos = properties.getTimeToLive().toNanos();
+        this.listingsByProperty = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((UUID propertyId, PropertyListings listings) -> listings.weight())
+                .expireAfter(new Expiry<UUID, PropertyListings>() {
+                    @Override
+                    public long expireAfterCreate(UUID propertyId, PropertyListings listings, long currentTime) {
+                        return timeToLiveNanos;
+                    }
+
+                    //  re-calculating the weight (see get) doesn't extend the expiration
+                    @Override
+                    public long expireAfterUpdate(UUID propertyId, PropertyListings listings, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID propertyId, PropertyListings listings, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.recentlyChangedProperties = Caffeine.newBuilder()
+                .expireAfterWrite(readReplicaProperties.isEnabled() ? readReplicaProperties.getReadYourWritesWindow() : Duration.ZERO)
+                .build();
+        this.maximumListingsPerProperty = properties.getMaximumListingsPerProperty();
+
+        this.hits = Counter.builder("applicants.listing.cache.gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("applicants.listing.cache.gets").tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("applicants.listing.cache.evictions", listingsByProperty, cache -> cache.stats().evictionCount())
+                .description("properties whose listings were evicted because of the size limit or the TTL")
+                .register(meterRegistry);
+        Gauge.builder("applicants.listing.cache.size", listingsByProperty, Cache::estimatedSize)
+                .description("properties with cached listings")
+                .register(meterRegistry);
+    }
+
+    public Instant getLastModification(UUID propertyId) {
+        return listingsFor(propertyId).getLastModification();
+    }
+
+    public ApplicantListing get(ApplicantFilter filter, @Nullable ApplicantCursor after, int limit,
+                                Set<ApplicantField> fields) {
+        var propertyId = filter.getPropertyId();
+        var key = new ListingKey(filter, after, limit, fields);
+        var listings = listingsFor(propertyId);
+
+        var cached = listings.get(key, System.nanoTime() - timeToLiveNanos);
+        if (cached != null) {
+            hits.increment();
+            return new ApplicantListing(cached, listings.getLastModification());
+        }
+        misses.increment();
+
+        var loaded = List.copyOf(load(propertyId, () -> applicantBitmapIndex.findIds(filter, after, limit)
+                .map(ids -> applicantRepository.findAllByIds(ids, fields))
+                .orElseGet(() -> applicantRepository.findAllMatching(filter, after, limit, fields))));
+        listings.put(key, loaded, System.nanoTime());
+        //  makes the cache re-calculate the weight (but only if the group wasn't invalidated in the meantime)
+        listingsByProperty.asMap().replace(propertyId, listings, listings);
+        return new ApplicantListing(loaded, listings.getLastModification());
+    }
+
+    private PropertyListings listingsFor(UUID propertyId) {
+        return listingsByProperty.get(propertyId, id -> new PropertyListings(maximumListingsPerProperty,
+                load(id, () -> findLastModification(id))));
+    }
+
+    //  archiving removes applicants without modifying the remaining ones, so it counts as a modification as well
+    private Instant findLastModification(UUID propertyId) {
+        var lastModification = applicantRepository.findLastModificationOfProperty(propertyId).orElse(Instant.EPOCH);
+        var lastArchival = applicantRepository.findLastArchivalOfProperty(propertyId).orElse(Instant.EPOCH);
+        return lastArchival.isAfter(lastModification) ? lastArchival : lastModification;
+    }
+
+    private <T> T load(UUID propertyId, Supplier<T> reads) {
+        if (recentlyChangedProperties.getIfPresent(propertyId) != null) {
+            return ReplicaRouting.onPrimary(reads);
+        }
+        return reads.get();
+    }
+
+    public void invalidate(UUID propertyId) {
+        recentlyChangedProperties.put(propertyId, Boolean.TRUE);
+        listingsByProperty.invalidate(propertyId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantCreatedEvent event) {
+        invalidate(event.getApplicant().getPropertyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantUpdatedEvent event) {
+        invalidate(event.getApplicant().getPropertyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantStatusChangedEvent event) {
+        invalidate(event.getPropertyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantsArchivedEvent event) {
+        invalidate(event.getPropertyId());
+    }
+
+    @Value
+    private static class ListingKey {
+        ApplicantFilter filter;
+        ApplicantCursor after;
+        int limit;
+        Set<ApplicantField> fields;
+    }
+
+    @Value
+    private static class Listing {
+        List<ApplicantSummary> applicants;
+        long loadedAtNanos;
+    }
+
+    private static class PropertyListings {
+
+        private final Map<ListingKey, Listing> listings;
+        private final Instant lastModification;
+        private int weight = 1;
+
+        PropertyListings(int maximumListings, Instant lastModification) {
+            this.lastModification = lastModification;
+            this.listings = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ListingKey, Listing> eldest) {
+                    if (size() <= maximumListings) {
+                        return false;
+                    }
+                    weight -= eldest.getValue().getApplicants().size();
+                    return true;
+                }
+            };
+        }
+
+        synchronized List<ApplicantSummary> get(ListingKey key, long loadedAfterNanos) {
+            var listing = listings.get(key);
+            if (listing == null || listing.getLoadedAtNanos() - loadedAfterNanos < 0) {
+                return null;
+            }
+            return listing.getApplicants();
+        }
+
+        synchronized void put(ListingKey key, List<ApplicantSummary> applicants, long loadedAtNanos) {
+            var previous = listings.put(key, new Listing(applicants, loadedAtNanos));
+            if (previous != null) {
+                weight -= previous.getApplicants().size();
+            }
+            weight += applicants.size();
+        }
+
+        Instant getLastModification() {
+            return lastModification;
+        }
+
+        synchronized int weight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("applicants.listing-cache")
+public class ApplicantListingCacheProperties {
+
+    //  sum of the applicants in all cached listings
+    private long maximumWeight = 100_000;
+
+    //  different filter combinations / pages of one property
+    private int maximumListingsPerProperty = 32;
+
+    //  upper bound for how long changes which don't go through the app (e.g. directly in the DB) stay invisible
+    private Duration timeToLive = Duration.ofMinutes(1);
+}
@@ -0,0 +1,202 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+//  TO NOTE: the applicants of a property are numbered by their creation (oldest first), and there is a bitmap of
+//      those numbers per value of the indexed attributes. A filter combination is an AND of the bitmaps, and going
+//      through the result backwards yields the applicants newest first - like the listing query does.
+//      New applicants are usually the newest ones and just get the next number. When one isn't (e.g. because
+//      transactions committed in a different order than they started), all applicants are renumbered.
+class ApplicantPropertyIndex {
+
+    private static final Comparator<ApplicantIndexEntry> CREATION_ORDER = Comparator
+            .comparing(ApplicantIndexEntry::getCreationTimestamp)
+            .thenComparing(ApplicantIndexEntry::getId, ApplicantIds.ORDER);
+
+    private final List<ApplicantIndexEntry> entries = new ArrayList<>();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+    private final RoaringBitmap[] byStatus = new RoaringBitmap[Status.values().length];
+    private final Map<Integer, RoaringBitmap> byNumberOfPersons = new HashMap<>();
+    private final RoaringBitmap withWbs = new RoaringBitmap();
+    private final RoaringBitmap withPets = new RoaringBitmap();
+
+    ApplicantPropertyIndex() {
+        for (var i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new RoaringBitmap();
+        }
+    }
+
+    //  adds a new applicant or replaces the attributes of an indexed one
+    synchronized void put(ApplicantIndexEntry entry) {
+        var ordinal = ordinalsById.get(entry.getId());
+        if (ordinal != null) {
+            var previous = entries.get(ordinal);
+            unindex(ordinal, previous);
+            //  the creation timestamp doesn't change, but the one of the DB can be less precise than the first one
+            var updated = entry.withCreationTimestamp(previous.getCreationTimestamp());
+            entries.set(ordinal, updated);
+            index(ordinal, updated);
+            return;
+        }
+
+        if (entries.isEmpty() || CREATION_ORDER.compare(entries.get(entries.size() - 1), entry) < 0) {
+            entries.add(entry);
+            ordinalsById.put(entry.getId(), entries.size() - 1);
+            index(entries.size() - 1, entry);
+            return;
+        }
+
+        var position = -(binarySearch(entry) + 1);
+        entries.add(position, entry);
+        reindex();
+    }
+
+    //  ignored when the applicant isn't indexed
+    synchronized void changeStatus(UUID id, Status status) {
+        var ordinal = ordinalsById.get(id);
+        if (ordinal != null) {
+            var previous = entries.get(ordinal);
+            unindex(ordinal, previous);
+            var updated = previous.withStatus(status);
+            entries.set(ordinal, updated);
+            index(ordinal, updated);
+        }
+    }
+
+    //  the remaining applicants are renumbered once, no matter how many are removed
+    synchronized void removeAll(Collection<UUID> ids) {
+        var removed = new HashSet<UUID>(ids);
+        removed.retainAll(ordinalsById.keySet());
+        if (!removed.isEmpty()) {
+            entries.removeIf(entry -> removed.contains(entry.getId()));
+            reindex();
+        }
+    }
+
+    //  ids of the matching applicants, newest first - only for the filters that are indexed
+    synchronized List<UUID> findIds(ApplicantFilter filter, @Nullable ApplicantCursor after, int limit) {
+        var end = after == null ? entries.size() : ordinalOf(after);
+        var ids = new ArrayList<UUID>(Math.min(limit, end));
+        var matching = matching(filter);
+        if (matching == null) {
+            for (var ordinal = end - 1; ordinal >= 0 && ids.size() < limit; ordinal--) {
+                ids.add(entries.get(ordinal).getId());
+            }
+            return ids;
+        }
+
+        var ordinal = end == 0 ? -1 : matching.previousValue(end - 1);
+        while (ordinal >= 0 && ids.size() < limit) {
+            ids.add(entries.get((int) ordinal).getId());
+            ordinal = ordinal == 0 ? -1 : matching.previousValue((int) ordinal - 1);
+        }
+        return ids;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    //  null when nothing has to be filtered
+    @Nullable
+    private RoaringBitmap matching(ApplicantFilter filter) {
+        var bitmaps = new ArrayList<RoaringBitmap>(4);
+        if (filter.getStatus() != null) {
+            bitmaps.add(byStatus[filter.getStatus().ordinal()]);
+        }
+        if (filter.getNumberOfPersons() != null) {
+            bitmaps.add(byNumberOfPersons.getOrDefault(filter.getNumberOfPersons(), new RoaringBitmap()));
+        }
+        if (filter.getWbsPresent() != null) {
+            bitmaps.add(filter.getWbsPresent() ? withWbs : RoaringBitmap.flip(withWbs, 0L, entries.size()));
+        }
+        if (filter.getPets() != null) {
+            bitmaps.add(filter.getPets() ? withPets : RoaringBitmap.flip(withPets, 0L, entries.size()));
+        }
+        if (bitmaps.isEmpty()) {
+            return null;
+        }
+        return bitmaps.size() == 1 ? bitmaps.get(0) : FastAggregation.and(bitmaps.iterator());
+    }
+
+    //  the number of applicants that are older than the cursor's applicant
+    private int ordinalOf(ApplicantCursor cursor) {
+        //  the timestamps of the index can be more precise than the ones in the DB (which the cursors come from),
+        //      so the applicant is looked up by its id first
+        var ordinal = ordinalsById.get(cursor.getId());
+        if (ordinal != null) {
+            return ordinal;
+        }
+        var position = binarySearch(new ApplicantIndexEntry(cursor.getId(), null, cursor.getCreationTimestamp(),
+                null, 0, false, false));
+        return position >= 0 ? position : -(position + 1);
+    }
+
+    private int binarySearch(ApplicantIndexEntry entry) {
+        var low = 0;
+        var high = entries.size() - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var comparison = CREATION_ORDER.compare(entries.get(middle), entry);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void reindex() {
+        ordinalsById.clear();
+        for (var bitmap : byStatus) {
+            bitmap.clear();
+        }
+        byNumberOfPersons.clear();
+        withWbs.clear();
+        withPets.clear();
+        for (var ordinal = 0; ordinal < entries.size(); ordinal++) {
+            ordinalsById.put(entries.get(ordinal).getId(), ordinal);
+            index(ordinal, entries.get(ordinal));
+        }
+    }
+
+    private void index(int ordinal, ApplicantIndexEntry entry) {
+        if (entry.getStatus() != null) {
+            byStatus[entry.getStatus().ordinal()].add(ordinal);
+        }
+        byNumberOfPersons.computeIfAbsent(entry.getNumberOfPersons(), numberOfPersons -> new RoaringBitmap()).add(ordinal);
+        if (entry.isWbsPresent()) {
+            withWbs.add(ordinal);
+        }
+        if (entry.isPets()) {
+            withPets.add(ordinal);
+        }
+    }
+
+    private void unindex(int ordinal, ApplicantIndexEntry entry) {
+        if (entry.getStatus() != null) {
+            byStatus[entry.getStatus().ordinal()].remove(ordinal);
+        }
+        var numberOfPersons = byNumberOfPersons.get(entry.getNumberOfPersons());
+        numberOfPersons.remove(ordinal);
+        if (numberOfPersons.isEmpty()) {
+            byNumberOfPersons.remove(entry.getNumberOfPersons());
+        }
+        withWbs.remove(ordinal);
+        withPets.remove(ordinal);
+    }
+}
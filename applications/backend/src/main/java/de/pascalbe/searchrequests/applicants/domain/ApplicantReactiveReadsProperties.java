@@ -0,0 +1,21 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("applicants.reactive-reads")
+public class ApplicantReactiveReadsProperties {
+
+    //  when disabled, the /reactive endpoints don't exist and no R2DBC connections are opened
+    private boolean enabled = false;
+
+    //  the same database as the datasource, e.g. r2dbc:postgresql://localhost:5432/applications_db
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 20;
+}
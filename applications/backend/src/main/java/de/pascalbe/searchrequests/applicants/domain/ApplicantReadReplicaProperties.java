@@ -0,0 +1,38 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("applicants.read-replicas")
+public class ApplicantReadReplicaProperties {
+
+    //  when disabled, everything goes to the datasource (spring.datasource.*)
+    private boolean enabled = false;
+
+    //  JDBC urls of the replicas, e.g. jdbc:postgresql://replica-1:5432/applications_db
+    private List<String> urls = List.of();
+
+    private String username;
+
+    private String password;
+
+    //  per replica
+    private int maximumPoolSize = 10;
+
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    //  how long the reads of a client go to the primary after it changed something (should be above the usual lag)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    //  returns the lag of the replica in seconds - a replica whose lag can't be determined counts as unhealthy.
+    //      Without a query, a replica only has to be reachable.
+    private String lagQuery;
+
+    private Duration maximumLag = Duration.ofSeconds(5);
+}
@@ -1,24 +1,96 @@
 package de.pascalbe.searchrequests.applicants.domain;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ApplicantRepository extends JpaRepository<Applicant, String> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface ApplicantRepository extends JpaRepository<Applicant, UUID>, ApplicantSearchRepository {
+    //  TO NOTE: the stream is backed by a DB cursor, so it has to be consumed within a transaction and closed afterwards.
+    //      The fetch size makes the driver load the rows in chunks instead of all at once
+    //      (postgres only does this when auto-commit is off, which is the case within a transaction).
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
     @Query("SELECT a FROM Applicant a " +
             "WHERE a.propertyId = :propertyId " +
-            "AND (:status IS NULL OR a.status = :status) " +
-            "AND (:numberOfPersons IS NULL OR a.numberOfPersons = :numberOfPersons) " +
-            "AND (:wbsPresent IS NULL OR a.wbsPresent = :wbsPresent) " +
-            "AND (:email IS NULL OR a.email LIKE %:email%) " +
-            "ORDER BY a.creationTimestamp DESC")
-    List<Applicant> findAllByAttributes(
-            @Param("propertyId") UUID propertyId,
-            @Param("status") Status status,
-            @Param("numberOfPersons") Integer numberOfPersons,
-            @Param("wbsPresent") Boolean wbsPresent,
-            @Param("email") String email);
+            "ORDER BY a.creationTimestamp DESC, a.id DESC")
+    Stream<Applicant> streamAllByPropertyId(@Param("propertyId") UUID propertyId);
+
+    //  for building the bitmap index, in the order in which the applicants are numbered
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new de.pascalbe.searchrequests.applicants.domain.ApplicantIndexEntry(" +
+            "a.id, a.propertyId, a.creationTimestamp, a.status, a.numberOfPersons, a.wbsPresent, a.pets) " +
+            "FROM Applicant a " +
+            "ORDER BY a.propertyId, a.creationTimestamp, a.id")
+    Stream<ApplicantIndexEntry> streamAllIndexEntries();
+
+    //  TO NOTE: locks the rows (in the order of their ids, so that concurrent transitions can't deadlock), so that
+    //      their versions can't change between checking and updating them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new de.pascalbe.searchrequests.applicants.domain.ApplicantVersion(a.id, a.version, a.status) " +
+            "FROM Applicant a " +
+            "WHERE a.propertyId = :propertyId AND a.id IN :ids " +
+            "ORDER BY a.id")
+    List<ApplicantVersion> lockVersions(@Param("propertyId") UUID propertyId, @Param("ids") Collection<UUID> ids);
+
+    //  a bulk update - bypasses the entity listener and the persistence context
+    @Modifying
+    @Query("UPDATE Applicant a " +
+            "SET a.status = :status, a.version = a.version + 1, a.lastModifiedTimestamp = :lastModification " +
+            "WHERE a.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") Status status,
+                     @Param("lastModification") Instant lastModification);
+
+    //  TO NOTE: locks the applicants that are archived next, so that they can't change while they are moved - and so
+    //      that instances archiving at the same time don't move the same applicants.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Applicant a " +
+            "WHERE (a.status = :declined AND a.lastModifiedTimestamp < :declinedBefore) " +
+            "OR a.lastModifiedTimestamp < :inactiveBefore " +
+            "ORDER BY a.id")
+    List<Applicant> lockArchivable(@Param("declined") Status declined, @Param("declinedBefore") Instant declinedBefore,
+                                   @Param("inactiveBefore") Instant inactiveBefore, Pageable pageable);
+
+    //  a bulk delete - bypasses the entity listener and the persistence context
+    @Modifying
+    @Query("DELETE FROM Applicant a WHERE a.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT a.version FROM Applicant a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("SELECT MAX(a.lastModifiedTimestamp) FROM Applicant a WHERE a.propertyId = :propertyId")
+    Optional<Instant> findLastModificationOfProperty(@Param("propertyId") UUID propertyId);
+
+    @Query("SELECT MAX(a.archivedTimestamp) FROM ArchivedApplicant a WHERE a.propertyId = :propertyId")
+    Optional<Instant> findLastArchivalOfProperty(@Param("propertyId") UUID propertyId);
+
+    @Query("SELECT a.id FROM Applicant a WHERE a.propertyId = :propertyId AND a.normalizedEmail = :normalizedEmail")
+    Optional<UUID> findIdByNormalizedEmail(@Param("propertyId") UUID propertyId,
+                                           @Param("normalizedEmail") String normalizedEmail);
+
+    @Query("SELECT a.normalizedEmail FROM Applicant a WHERE a.propertyId = :propertyId AND a.normalizedEmail IS NOT NULL")
+    List<String> findAllNormalizedEmailsOfProperty(@Param("propertyId") UUID propertyId);
 }
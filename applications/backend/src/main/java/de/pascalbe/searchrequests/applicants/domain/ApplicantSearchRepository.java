@@ -0,0 +1,30 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ApplicantSearchRepository {
+
+    //  only the given fields are loaded (plus what the cursor needs)
+    List<ApplicantSummary> findAllMatching(ApplicantFilter filter, @Nullable ApplicantCursor after, int limit,
+                                           Set<ApplicantField> fields);
+
+    //  like findAllMatching, but also the archived applicants
+    List<ApplicantSummary> findAllMatchingIncludingArchived(ApplicantFilter filter, @Nullable ApplicantCursor after,
+                                                            int limit, Set<ApplicantField> fields);
+
+    //  in the order of the given ids (ids of applicants that don't exist anymore are skipped)
+    List<ApplicantSummary> findAllByIds(List<UUID> ids, Set<ApplicantField> fields);
+
+    Optional<ArchivedApplicant> findArchivedById(UUID id);
+
+    //  newest first, like the listing
+    List<ApplicantVersion> findAllVersionsMatching(ApplicantFilter filter, int limit);
+
+    //  oldest first, starting right after the given cursor
+    List<Applicant> findAllCreatedSince(UUID propertyId, ApplicantCursor since, int limit);
+}
@@ -0,0 +1,227 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//  TO NOTE: the query only contains conditions for the filters that were actually given. A catch-all query like
+//      "(:status IS NULL OR a.status = :status)" makes the DB use one generic plan for all filter combinations,
+//      which usually can't make use of the indexes.
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class ApplicantSearchRepositoryImpl implements ApplicantSearchRepository {
+
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+    private static final Comparator<ApplicantSummary> NEWEST_FIRST = Comparator
+            .comparing(ApplicantSummary::getCreationTimestamp)
+            .thenComparing(ApplicantSummary::getId, ApplicantIds.ORDER)
+            .reversed();
+
+    private final EntityManager entityManager;
+
+    //  TO NOTE: this is a tuple query, so only the selected columns are read and no entities are created
+    //      (which also means they don't end up in the persistence context).
+    @Override
+    public List<ApplicantSummary> findAllMatching(ApplicantFilter filter, @Nullable ApplicantCursor after, int limit,
+                                                  Set<ApplicantField> fields) {
+        return findAllMatching(Applicant.class, filter, after, limit, fields);
+    }
+
+    //  TO NOTE: the archive is searched with the same query as the applicant table, the listing is made up of the
+    //      newest applicants of both (ordered like the DB orders them).
+    @Override
+    public List<ApplicantSummary> findAllMatchingIncludingArchived(ApplicantFilter filter, @Nullable ApplicantCursor after,
+                                                                   int limit, Set<ApplicantField> fields) {
+        var applicants = new ArrayList<>(findAllMatching(Applicant.class, filter, after, limit, fields));
+        applicants.addAll(findAllMatching(ArchivedApplicant.class, filter, after, limit, fields));
+        return applicants.stream()
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private List<ApplicantSummary> findAllMatching(Class<?> type, ApplicantFilter filter, @Nullable ApplicantCursor after,
+                                                   int limit, Set<ApplicantField> fields) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createTupleQuery();
+        var applicant = query.from(type);
+
+        var predicates = predicatesFor(filter, criteriaBuilder, applicant);
+        if (after != null) {
+            predicates.add(isOlderThan(after, criteriaBuilder, applicant));
+        }
+
+        var selection = new SummarySelection(fields);
+        query.multiselect(selection.paths(applicant))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.desc(applicant.get("creationTimestamp")), criteriaBuilder.desc(applicant.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(selection::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ApplicantSummary> findAllByIds(List<UUID> ids, Set<ApplicantField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createTupleQuery();
+        var applicant = query.from(Applicant.class);
+
+        var selection = new SummarySelection(fields);
+        query.multiselect(selection.paths(applicant))
+                .where(applicant.get("id").in(ids));
+
+        var summariesById = entityManager.createQuery(query)
+                .getResultStream()
+                .map(selection::toSummary)
+                .collect(Collectors.toMap(ApplicantSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<ArchivedApplicant> findArchivedById(UUID id) {
+        return Optional.ofNullable(entityManager.find(ArchivedApplicant.class, id));
+    }
+
+    @Override
+    public List<ApplicantVersion> findAllVersionsMatching(ApplicantFilter filter, int limit) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(ApplicantVersion.class);
+        var applicant = query.from(Applicant.class);
+
+        query.select(criteriaBuilder.construct(ApplicantVersion.class,
+                        applicant.get("id"), applicant.get("version"), applicant.get("status")))
+                .where(predicatesFor(filter, criteriaBuilder, applicant).toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.desc(applicant.get("creationTimestamp")), criteriaBuilder.desc(applicant.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Applicant> findAllCreatedSince(UUID propertyId, ApplicantCursor since, int limit) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(Applicant.class);
+        var applicant = query.from(Applicant.class);
+
+        query.select(applicant)
+                .where(criteriaBuilder.equal(applicant.get("propertyId"), propertyId),
+                        isNewerThan(since, criteriaBuilder, applicant))
+                .orderBy(criteriaBuilder.asc(applicant.get("creationTimestamp")), criteriaBuilder.asc(applicant.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private List<Predicate> predicatesFor(ApplicantFilter filter, CriteriaBuilder criteriaBuilder, Root<?> applicant) {
+        var predicates = new ArrayList<Predicate>();
+        predicates.add(criteriaBuilder.equal(applicant.get("propertyId"), filter.getPropertyId()));
+        if (filter.getStatus() != null) {
+            predicates.add(criteriaBuilder.equal(applicant.get("status"), filter.getStatus()));
+        }
+        if (filter.getNumberOfPersons() != null) {
+            predicates.add(criteriaBuilder.equal(applicant.get("numberOfPersons"), filter.getNumberOfPersons()));
+        }
+        if (filter.getWbsPresent() != null) {
+            predicates.add(criteriaBuilder.equal(applicant.get("wbsPresent"), filter.getWbsPresent()));
+        }
+        if (filter.getPartOfEmail() != null) {
+            var pattern = "%" + escapeLikeWildcards(filter.getPartOfEmail()) + "%";
+            predicates.add(criteriaBuilder.like(applicant.get("email"), pattern, LIKE_ESCAPE_CHARACTER));
+        }
+        if (filter.getPets() != null) {
+            predicates.add(criteriaBuilder.equal(applicant.get("pets"), filter.getPets()));
+        }
+        if (filter.getMoveInFrom() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(applicant.get("earliestMoveInDate"), filter.getMoveInFrom()));
+        }
+        if (filter.getMoveInTo() != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(applicant.get("earliestMoveInDate"), filter.getMoveInTo()));
+        }
+        return predicates;
+    }
+
+    //  keyset condition: (creationTimestamp, id) < (cursor.creationTimestamp, cursor.id)
+    private Predicate isOlderThan(ApplicantCursor after, CriteriaBuilder criteriaBuilder, Root<?> applicant) {
+        return criteriaBuilder.or(
+                criteriaBuilder.lessThan(applicant.get("creationTimestamp"), after.getCreationTimestamp()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(applicant.get("creationTimestamp"), after.getCreationTimestamp()),
+                        criteriaBuilder.lessThan(applicant.get("id"), after.getId())));
+    }
+
+    //  keyset condition: (creationTimestamp, id) > (cursor.creationTimestamp, cursor.id)
+    private Predicate isNewerThan(ApplicantCursor since, CriteriaBuilder criteriaBuilder, Root<?> applicant) {
+        return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(applicant.get("creationTimestamp"), since.getCreationTimestamp()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(applicant.get("creationTimestamp"), since.getCreationTimestamp()),
+                        criteriaBuilder.greaterThan(applicant.get("id"), since.getId())));
+    }
+
+    //  the selected fields plus the ones the cursor needs
+    private static class SummarySelection {
+
+        private final List<ApplicantField> selectedFields;
+        private final List<ApplicantField> loadedFields;
+
+        SummarySelection(Set<ApplicantField> fields) {
+            this.selectedFields = List.copyOf(fields);
+            var loadedFields = EnumSet.of(ApplicantField.ID, ApplicantField.CREATION_TIMESTAMP);
+            loadedFields.addAll(fields);
+            this.loadedFields = List.copyOf(loadedFields);
+        }
+
+        List<Selection<?>> paths(Root<?> applicant) {
+            return loadedFields.stream()
+                    .map(field -> applicant.get(field.getAttributeName()))
+                    .collect(Collectors.toList());
+        }
+
+        ApplicantSummary toSummary(Tuple tuple) {
+            var values = new Object[selectedFields.size()];
+            for (var i = 0; i < values.length; i++) {
+                values[i] = tuple.get(loadedFields.indexOf(selectedFields.get(i)));
+            }
+            return new ApplicantSummary(
+                    tuple.get(loadedFields.indexOf(ApplicantField.ID), UUID.class),
+                    tuple.get(loadedFields.indexOf(ApplicantField.CREATION_TIMESTAMP), Instant.class),
+                    selectedFields,
+                    values);
+        }
+    }
+
+    private static String escapeLikeWildcards(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
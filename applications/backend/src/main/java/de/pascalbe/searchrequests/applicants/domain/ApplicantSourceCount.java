@@ -0,0 +1,20 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicantSourceCount {
+
+    @EmbeddedId
+    private ApplicantSourceCountId id;
+
+    private long applicants;
+}
@@ -0,0 +1,23 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicantSourceCountId implements Serializable {
+
+    private UUID propertyId;
+
+    private LocalDate creationDay;
+
+    private CreationSource creationSource;
+}
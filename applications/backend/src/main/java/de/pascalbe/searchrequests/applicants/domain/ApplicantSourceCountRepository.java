@@ -0,0 +1,20 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ApplicantSourceCountRepository extends JpaRepository<ApplicantSourceCount, ApplicantSourceCountId> {
+    @Modifying
+    @Query("UPDATE ApplicantSourceCount c SET c.applicants = c.applicants + :delta WHERE c.id = :id")
+    int increment(@Param("id") ApplicantSourceCountId id, @Param("delta") long delta);
+
+    List<ApplicantSourceCount> findAllByIdCreationDayBetween(LocalDate from, LocalDate to);
+
+    List<ApplicantSourceCount> findAllByIdPropertyIdAndIdCreationDayBetween(UUID propertyId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,121 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//  TO NOTE: counting applicants per source with a GROUP BY over all applicants gets slower with every applicant.
+//      Instead, created applicants are counted per (property, day, source) - first in memory (LongAdders, so that
+//      concurrent requests don't contend on the same counter), and regularly added to the summary table.
+//      Applicants are only counted once their transaction is committed. Counts that weren't flushed yet are lost
+//      when the app crashes (but not when it's shut down).
+@Component
+@Slf4j
+public class ApplicantSourceCounter {
+
+    private final ApplicantSourceCountRepository applicantSourceCountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ApplicantSourceCountId, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+
+    public ApplicantSourceCounter(ApplicantSourceCountRepository applicantSourceCountRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.applicantSourceCountRepository = applicantSourceCountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ApplicantCreatedEvent event) {
+        var applicant = event.getApplicant();
+        //  like the backfill of the summary table (see V5), applicants without these can't be counted
+        if (applicant.getPropertyId() == null || applicant.getCreationTimestamp() == null
+                || applicant.getCreationSource() == null) {
+            return;
+        }
+        var id = new ApplicantSourceCountId(applicant.getPropertyId(),
+                creationDay(applicant),
+                applicant.getCreationSource());
+        pendingCounts.computeIfAbsent(id, key -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${applicants.source-statistics.flush-interval:PT10S}")
+    @PreDestroy
+    public void flush() {
+        var deltas = new HashMap<ApplicantSourceCountId, Long>();
+        pendingCounts.forEach((id, count) -> {
+            var delta = count.sumThenReset();
+            if (delta > 0) {
+                deltas.put(id, delta);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::addToSummary));
+            } catch (RuntimeException e) {
+                //  one count that can't be stored shouldn't keep all the others from being stored
+                log.warn("Could not flush {} applicant source counts at once, flushing them one by one", deltas.size(), e);
+                deltas.forEach(this::flushAlone);
+            }
+        }
+
+        //  counters of past days don't get new increments anymore (besides the ones of applicants created right
+        //  before midnight), so they can be removed once they were flushed
+        var yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        pendingCounts.entrySet().removeIf(entry ->
+                entry.getKey().getCreationDay().isBefore(yesterday) && entry.getValue().sum() == 0);
+    }
+
+    private void flushAlone(ApplicantSourceCountId id, long delta) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> addToSummary(id, delta));
+        } catch (RuntimeException e) {
+            log.warn("Could not flush the applicant source count {}, retrying with the next flush", id, e);
+            pendingCounts.computeIfAbsent(id, key -> new LongAdder()).add(delta);
+        }
+    }
+
+    public List<ApplicantSourceCount> getCounts(@Nullable UUID propertyId, LocalDate from, LocalDate to) {
+        var counts = new ArrayList<>(propertyId == null
+                ? applicantSourceCountRepository.findAllByIdCreationDayBetween(from, to)
+                : applicantSourceCountRepository.findAllByIdPropertyIdAndIdCreationDayBetween(propertyId, from, to));
+
+        pendingCounts.forEach((id, count) -> {
+            var pending = count.sum();
+            if (pending > 0 && matches(id, propertyId, from, to)) {
+                counts.add(new ApplicantSourceCount(id, pending));
+            }
+        });
+        return counts;
+    }
+
+    private void addToSummary(ApplicantSourceCountId id, long delta) {
+        if (applicantSourceCountRepository.increment(id, delta) == 0) {
+            applicantSourceCountRepository.save(new ApplicantSourceCount(id, delta));
+        }
+    }
+
+    private static boolean matches(ApplicantSourceCountId id, @Nullable UUID propertyId, LocalDate from, LocalDate to) {
+        return (propertyId == null || propertyId.equals(id.getPropertyId()))
+                && !id.getCreationDay().isBefore(from)
+                && !id.getCreationDay().isAfter(to);
+    }
+
+    private static LocalDate creationDay(Applicant applicant) {
+        return LocalDate.ofInstant(applicant.getCreationTimestamp(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,256 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+//  TO NOTE: accepted applicants are appended to the spool (one JSON line each) and synced to disk before they are
+//      acknowledged, so that they survive a crash. Syncing is slow, so it's done by a single flusher thread - one sync
+//      covers all applicants appended in the meantime (group commit), and their appends return after that sync.
+//      A segment file gets truncated / deleted as soon as all of its applicants are stored in the DB - whatever is
+//      left in the spool directory on startup wasn't (for sure) stored.
+@Slf4j
+class ApplicantSpool implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "applicants-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ObjectMapper objectMapper;
+    private Segment activeSegment;
+    private Map<Segment, List<CompletableFuture<Void>>> unsynced = new LinkedHashMap<>();
+    private Thread flusher;
+    private boolean closed;
+
+    ApplicantSpool(Path directory, int segmentSize, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.objectMapper = objectMapper;
+    }
+
+    List<Path> findSegments() {
+        try (var files = Files.list(directory)) {
+            return files.filter(ApplicantSpool::isSegment)
+                    .sorted(Comparator.comparingLong(ApplicantSpool::segmentNumber))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    List<Applicant> read(Path segment) {
+        try {
+            var applicants = new ArrayList<Applicant>();
+            for (var line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                try {
+                    applicants.add(objectMapper.readValue(line, Applicant.class));
+                } catch (JsonProcessingException e) {
+                    //  the last line is incomplete, when the app crashed while appending it - that applicant
+                    //  wasn't acknowledged yet
+                    log.warn("Skipping unreadable line of spool segment {}", segment, e);
+                }
+            }
+            return applicants;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            var lastSegmentNumber = findSegments().stream()
+                    .mapToLong(ApplicantSpool::segmentNumber)
+                    .max()
+                    .orElse(0);
+            activeSegment = new Segment(directory.resolve(SEGMENT_PREFIX + (lastSegmentNumber + 1) + SEGMENT_SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flusher = new Thread(this::flushContinuously, "applicant-spool-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    Segment append(Applicant applicant) {
+        var synced = new CompletableFuture<Void>();
+        Segment segment;
+        synchronized (this) {
+            try {
+                if (activeSegment.appended >= segmentSize) {
+                    var full = activeSegment;
+                    activeSegment = new Segment(directory.resolve(
+                            SEGMENT_PREFIX + (segmentNumber(full.path) + 1) + SEGMENT_SUFFIX));
+                    full.seal();
+                }
+                var line = objectMapper.writeValueAsString(applicant) + "\n";
+                activeSegment.channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+                activeSegment.appended++;
+                activeSegment.pending++;
+                segment = activeSegment;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            unsynced.computeIfAbsent(segment, key -> new ArrayList<>()).add(synced);
+            notifyAll();
+        }
+
+        try {
+            synced.get();
+            return segment;
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException((IOException) e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the spool to be synced", e);
+        }
+    }
+
+    private void flushContinuously() {
+        while (true) {
+            Map<Segment, List<CompletableFuture<Void>>> flushed;
+            synchronized (this) {
+                while (unsynced.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (unsynced.isEmpty()) {
+                    return;
+                }
+                flushed = unsynced;
+                unsynced = new LinkedHashMap<>();
+            }
+
+            flushed.forEach((segment, waiting) -> {
+                var failure = segment.sync();
+                if (failure == null) {
+                    waiting.forEach(synced -> synced.complete(null));
+                } else {
+                    waiting.forEach(synced -> synced.completeExceptionally(failure));
+                }
+            });
+        }
+    }
+
+    synchronized void stored(Segment segment) {
+        segment.pending--;
+        if (segment.pending > 0) {
+            return;
+        }
+        try {
+            if (segment == activeSegment) {
+                segment.channel.truncate(0);
+                segment.channel.force(false);
+                segment.appended = 0;
+            } else {
+                Files.deleteIfExists(segment.path);
+            }
+        } catch (IOException e) {
+            //  the applicants get stored again on the next startup, which is skipped for existing ones
+            log.warn("Could not clean up spool segment {}", segment.path, e);
+        }
+    }
+
+    void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+        //  the segment is kept when it couldn't be synced - its applicants weren't acknowledged then
+        if (activeSegment != null) {
+            activeSegment.seal();
+            if (activeSegment.appended == 0) {
+                delete(activeSegment.path);
+            }
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        var name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentNumber(Path path) {
+        var name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private int appended;
+        private int pending;
+        private volatile boolean sealed;
+        @Nullable
+        private volatile IOException sealFailure;
+
+        private Segment(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        //  null when everything that was appended is on disk
+        @Nullable
+        private IOException sync() {
+            if (sealed) {
+                return sealFailure;
+            }
+            try {
+                channel.force(false);
+                return null;
+            } catch (IOException e) {
+                //  sealed concurrently, which syncs (and closes) the segment
+                return sealed ? sealFailure : e;
+            }
+        }
+
+        //  syncs the applicants that still wait for the flusher right away - they fail when that doesn't work
+        private void seal() {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                sealFailure = e;
+            }
+            sealed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close spool segment {}", path, e);
+            }
+            if (sealFailure != null) {
+                throw new UncheckedIOException("Could not sync spool segment " + path, sealFailure);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+//  the outcome of a status transition for one applicant
+@Value
+public class ApplicantStatusChange {
+
+    public enum Outcome {
+        CHANGED,
+        //  the applicant already had the status
+        UNCHANGED,
+        //  the applicant was changed since the client has seen it
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    UUID id;
+
+    Outcome outcome;
+
+    //  the current version of the applicant (after the transition), null if it wasn't found
+    Long version;
+}
@@ -0,0 +1,18 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+//  TO NOTE: published by ApplicantStatusTransitions instead of an ApplicantUpdatedEvent per applicant, because the
+//      bulk updates bypass the entity listener (and there are no entities to publish).
+@Value
+public class ApplicantStatusChangedEvent {
+
+    UUID propertyId;
+
+    Status status;
+
+    List<UUID> applicantIds;
+}
@@ -0,0 +1,15 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("applicants.status-transitions")
+public class ApplicantStatusTransitionProperties {
+
+    //  maximum number of applicants whose status is changed at once (also for filters)
+    private int maximumApplicants = 10_000;
+
+    //  number of applicants locked and changed with one UPDATE
+    private int chunkSize = 500;
+}
@@ -0,0 +1,86 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//  TO NOTE: the statuses are changed with one UPDATE per chunk of applicants, all within one transaction and without
+//      loading the applicants. The rows of a chunk are locked while their versions are checked, so an applicant is
+//      only changed when it still has the version the client has seen (otherwise it's a conflict and the client can
+//      decide again). Bulk updates bypass the entity listener - the change is published as
+//      ApplicantStatusChangedEvent instead (e.g. for the listing cache and the bitmap index).
+@Component
+@RequiredArgsConstructor
+public class ApplicantStatusTransitions {
+
+    private final ApplicantRepository applicantRepository;
+    private final ApplicantStatusTransitionProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public int getMaximumApplicants() {
+        return properties.getMaximumApplicants();
+    }
+
+    //  the expected version of an applicant is null when it should be changed regardless of its version
+    @Transactional
+    public List<ApplicantStatusChange> transition(UUID propertyId, Map<UUID, Long> expectedVersions, Status status) {
+        var ids = List.copyOf(expectedVersions.keySet());
+        var changes = new ArrayList<ApplicantStatusChange>(ids.size());
+        var changedIds = new ArrayList<UUID>();
+        var lastModification = Instant.now();
+        for (var start = 0; start < ids.size(); start += properties.getChunkSize()) {
+            var chunk = ids.subList(start, Math.min(start + properties.getChunkSize(), ids.size()));
+            var currentVersions = applicantRepository.lockVersions(propertyId, chunk).stream()
+                    .collect(Collectors.toMap(ApplicantVersion::getId, Function.identity()));
+
+            var idsToChange = new ArrayList<UUID>(chunk.size());
+            for (var id : chunk) {
+                var current = currentVersions.get(id);
+                var expectedVersion = expectedVersions.get(id);
+                if (current == null) {
+                    changes.add(new ApplicantStatusChange(id, ApplicantStatusChange.Outcome.NOT_FOUND, null));
+                } else if (expectedVersion != null && expectedVersion != current.getVersion()) {
+                    changes.add(new ApplicantStatusChange(id, ApplicantStatusChange.Outcome.CONFLICT, current.getVersion()));
+                } else if (current.getStatus() == status) {
+                    changes.add(new ApplicantStatusChange(id, ApplicantStatusChange.Outcome.UNCHANGED, current.getVersion()));
+                } else {
+                    idsToChange.add(id);
+                    changes.add(new ApplicantStatusChange(id, ApplicantStatusChange.Outcome.CHANGED, current.getVersion() + 1));
+                }
+            }
+            if (!idsToChange.isEmpty()) {
+                applicantRepository.updateStatus(idsToChange, status, lastModification);
+                changedIds.addAll(idsToChange);
+            }
+        }
+
+        if (!changedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ApplicantStatusChangedEvent(propertyId, status, changedIds));
+        }
+        return changes;
+    }
+
+    //  TO NOTE: the applicants that match the filter when the transaction starts are changed (with the versions they
+    //      had then). Empty when more applicants match than can be changed at once - nothing is changed in that case.
+    @Transactional
+    public Optional<List<ApplicantStatusChange>> transition(ApplicantFilter filter, Status status) {
+        var matching = applicantRepository.findAllVersionsMatching(filter, properties.getMaximumApplicants() + 1);
+        if (matching.size() > properties.getMaximumApplicants()) {
+            return Optional.empty();
+        }
+        var expectedVersions = new LinkedHashMap<UUID, Long>();
+        matching.forEach(applicant -> expectedVersions.put(applicant.getId(), applicant.getVersion()));
+        return Optional.of(transition(filter.getPropertyId(), expectedVersions, status));
+    }
+}
@@ -0,0 +1,64 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+//  TO NOTE: an applicant of a listing with only the selected fields (which are the only columns that are loaded).
+//      The values are kept in an array instead of a map per applicant, as listings can be large and are cached.
+//      Id and creation timestamp are always loaded, because the cursor of the next page needs them.
+@JsonSerialize(using = ApplicantSummary.Serializer.class)
+@EqualsAndHashCode
+@ToString
+public class ApplicantSummary {
+
+    private final UUID id;
+    private final Instant creationTimestamp;
+    private final List<ApplicantField> fields;
+    private final Object[] values;
+
+    //  the values have to be in the same order as the fields
+    public ApplicantSummary(UUID id, Instant creationTimestamp, List<ApplicantField> fields, Object[] values) {
+        this.id = id;
+        this.creationTimestamp = creationTimestamp;
+        this.fields = fields;
+        this.values = values;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Instant getCreationTimestamp() {
+        return creationTimestamp;
+    }
+
+    public Object get(ApplicantField field) {
+        var index = fields.indexOf(field);
+        if (index < 0) {
+            throw new IllegalArgumentException(field + " wasn't selected");
+        }
+        return values[index];
+    }
+
+    static class Serializer extends JsonSerializer<ApplicantSummary> {
+
+        @Override
+        public void serialize(ApplicantSummary summary, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(summary);
+            for (var i = 0; i < summary.fields.size(); i++) {
+                provider.defaultSerializeField(summary.fields.get(i).getAttributeName(), summary.values[i], generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
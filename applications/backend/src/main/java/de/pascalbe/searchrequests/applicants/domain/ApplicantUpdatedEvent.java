@@ -0,0 +1,9 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+@Value
+public class ApplicantUpdatedEvent {
+
+    Applicant applicant;
+}
@@ -0,0 +1,17 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+//  TO NOTE: what a status transition needs to know about an applicant. Also used as constructor expression in
+//      ApplicantRepository, so that transitions don't load entities.
+@Value
+public class ApplicantVersion {
+
+    UUID id;
+
+    long version;
+
+    Status status;
+}
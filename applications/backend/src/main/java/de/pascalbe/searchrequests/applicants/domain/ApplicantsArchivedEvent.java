@@ -0,0 +1,16 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+//  TO NOTE: published by ApplicantArchiver (per property) after it moved applicants to the archive - the applicants
+//      are deleted with a bulk delete, which bypasses the entity listener.
+@Value
+public class ApplicantsArchivedEvent {
+
+    UUID propertyId;
+
+    List<UUID> applicantIds;
+}
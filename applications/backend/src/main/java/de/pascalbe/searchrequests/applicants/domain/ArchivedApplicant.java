@@ -0,0 +1,66 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import org.springframework.beans.BeanUtils;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+//  TO NOTE: an applicant that was moved out of the applicant table by ApplicantArchiver. It has the same attributes
+//      (and columns) as an applicant, so the same queries work on both tables - only the archival time is added.
+//      Archived applicants aren't changed anymore.
+@Entity
+@Data
+public class ArchivedApplicant {
+
+    @Id
+    private UUID id;
+
+    private UUID propertyId;
+
+    private String email;
+
+    @JsonIgnore
+    private String normalizedEmail;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String userComment;
+
+    private Salutation salutation;
+
+    private CreationSource creationSource;
+
+    private Instant creationTimestamp;
+
+    private Instant lastModifiedTimestamp;
+
+    private long version;
+
+    private Status status;
+
+    private boolean wbsPresent;
+
+    private boolean pets;
+
+    private int numberOfPersons;
+
+    private LocalDate earliestMoveInDate;
+
+    private String applicantComment;
+
+    private Instant archivedTimestamp;
+
+    public static ArchivedApplicant of(Applicant applicant, Instant archivedTimestamp) {
+        var archived = new ArchivedApplicant();
+        BeanUtils.copyProperties(applicant, archived);
+        archived.setArchivedTimestamp(archivedTimestamp);
+        return archived;
+    }
+}
@@ -0,0 +1,75 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//  TO NOTE: a Bloom filter can tell for sure that an email was NOT added, but only that it MIGHT have been added
+//      (with the given false positive probability, as long as no more than the expected number of emails are added).
+//      The bit positions are derived from two 64 bit hashes (double hashing), the bits are set without locks.
+class EmailBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numberOfBits;
+    private final int numberOfHashes;
+    private final long expectedEmails;
+    private final LongAdder addedEmails = new LongAdder();
+
+    EmailBloomFilter(long expectedEmails, double falsePositiveProbability) {
+        var optimalBits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.numberOfBits = Math.max(64, optimalBits);
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfBits / expectedEmails * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((numberOfBits + 63) / 64));
+        this.expectedEmails = expectedEmails;
+    }
+
+    void add(String normalizedEmail) {
+        var hash1 = hash(normalizedEmail);
+        var hash2 = mix(hash1);
+        for (var i = 0; i < numberOfHashes; i++) {
+            var bit = Math.floorMod(hash1 + i * hash2, numberOfBits);
+            var word = (int) (bit >>> 6);
+            var mask = 1L << bit;
+            var current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        addedEmails.increment();
+    }
+
+    boolean mightContain(String normalizedEmail) {
+        var hash1 = hash(normalizedEmail);
+        var hash2 = mix(hash1);
+        for (var i = 0; i < numberOfHashes; i++) {
+            var bit = Math.floorMod(hash1 + i * hash2, numberOfBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //  beyond the expected number of emails, the false positive probability increases
+    boolean isFull() {
+        return addedEmails.sum() > expectedEmails;
+    }
+
+    //  64 bit FNV-1a over the UTF-8 bytes
+    private static long hash(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    //  finalizer of SplitMix64, so that the second hash is independent enough from the first one
+    private static long mix(long value) {
+        var z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
@@ -0,0 +1,198 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+//  TO NOTE: a non-blocking alternative to reading applicants via JPA - the rows of the applicant table are read via
+//      R2DBC and mapped by hand. The queries are the same as the ones of ApplicantSearchRepositoryImpl.
+//      The connection pool is created here and not as a bean on purpose: Spring Boot doesn't configure the JDBC
+//      datasource (which JPA needs) when there is an R2DBC ConnectionFactory bean.
+//      Hibernate stores Instants as timestamps in the JVM's time zone, so they are converted with the same zone.
+@Component
+@ConditionalOnProperty("applicants.reactive-reads.enabled")
+public class ReactiveApplicantReader {
+
+    private static final String COLUMNS = "id, property_id, email, first_name, last_name, user_comment, salutation, " +
+            "creation_source, creation_timestamp, last_modified_timestamp, version, status, wbs_present, pets, " +
+            "number_of_persons, earliest_move_in_date, applicant_comment";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveApplicantReader(ApplicantReactiveReadsProperties properties) {
+        var connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build());
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(properties.getMaximumPoolSize())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Mono<Applicant> findById(UUID id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM applicant WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toApplicant(row))
+                .one();
+    }
+
+    //  the applicants are emitted while they are read, as fast as the subscriber requests them
+    public Flux<ApplicantSummary> findAllMatching(ApplicantFilter filter, @Nullable ApplicantCursor after, int limit,
+                                                  Set<ApplicantField> fields) {
+        var conditions = new ArrayList<String>();
+        var parameters = new HashMap<String, Object>();
+        conditions.add("property_id = :propertyId");
+        parameters.put("propertyId", filter.getPropertyId());
+        if (filter.getStatus() != null) {
+            conditions.add("status = :status");
+            parameters.put("status", filter.getStatus().ordinal());
+        }
+        if (filter.getNumberOfPersons() != null) {
+            conditions.add("number_of_persons = :numberOfPersons");
+            parameters.put("numberOfPersons", filter.getNumberOfPersons());
+        }
+        if (filter.getWbsPresent() != null) {
+            conditions.add("wbs_present = :wbsPresent");
+            parameters.put("wbsPresent", filter.getWbsPresent());
+        }
+        if (filter.getPartOfEmail() != null) {
+            conditions.add("email LIKE :emailPattern ESCAPE '\\'");
+            parameters.put("emailPattern", "%" + escapeLikeWildcards(filter.getPartOfEmail()) + "%");
+        }
+        if (filter.getPets() != null) {
+            conditions.add("pets = :pets");
+            parameters.put("pets", filter.getPets());
+        }
+        if (filter.getMoveInFrom() != null) {
+            conditions.add("earliest_move_in_date >= :moveInFrom");
+            parameters.put("moveInFrom", filter.getMoveInFrom());
+        }
+        if (filter.getMoveInTo() != null) {
+            conditions.add("earliest_move_in_date <= :moveInTo");
+            parameters.put("moveInTo", filter.getMoveInTo());
+        }
+        if (after != null) {
+            conditions.add("(creation_timestamp < :afterTimestamp OR (creation_timestamp = :afterTimestamp AND id < :afterId))");
+            parameters.put("afterTimestamp", LocalDateTime.ofInstant(after.getCreationTimestamp(), ZoneId.systemDefault()));
+            parameters.put("afterId", after.getId());
+        }
+
+        var selectedFields = List.copyOf(fields);
+        var loadedFields = EnumSet.of(ApplicantField.ID, ApplicantField.CREATION_TIMESTAMP);
+        loadedFields.addAll(selectedFields);
+        var columns = loadedFields.stream().map(ApplicantField::getColumnName).collect(Collectors.joining(", "));
+
+        var sql = "SELECT " + columns + " FROM applicant WHERE " + String.join(" AND ", conditions) +
+                " ORDER BY creation_timestamp DESC, id DESC LIMIT " + limit;
+        var spec = databaseClient.sql(sql);
+        for (var parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map((row, metadata) -> toApplicantSummary(row, selectedFields)).all();
+    }
+
+    @PreDestroy
+    void close() {
+        connectionPool.dispose();
+    }
+
+    private static Applicant toApplicant(Row row) {
+        var applicant = new Applicant();
+        applicant.setId(row.get("id", UUID.class));
+        applicant.setPropertyId(row.get("property_id", UUID.class));
+        applicant.setEmail(row.get("email", String.class));
+        applicant.setFirstName(row.get("first_name", String.class));
+        applicant.setLastName(row.get("last_name", String.class));
+        applicant.setUserComment(row.get("user_comment", String.class));
+        applicant.setSalutation(enumValue(Salutation.values(), row.get("salutation", Integer.class)));
+        applicant.setCreationSource(enumValue(CreationSource.values(), row.get("creation_source", Integer.class)));
+        applicant.setCreationTimestamp(toInstant(row.get("creation_timestamp", LocalDateTime.class)));
+        applicant.setLastModifiedTimestamp(toInstant(row.get("last_modified_timestamp", LocalDateTime.class)));
+        applicant.setVersion(row.get("version", Long.class));
+        applicant.setStatus(enumValue(Status.values(), row.get("status", Integer.class)));
+        applicant.setWbsPresent(Boolean.TRUE.equals(row.get("wbs_present", Boolean.class)));
+        applicant.setPets(Boolean.TRUE.equals(row.get("pets", Boolean.class)));
+        applicant.setNumberOfPersons(row.get("number_of_persons", Integer.class));
+        applicant.setEarliestMoveInDate(row.get("earliest_move_in_date", LocalDate.class));
+        applicant.setApplicantComment(row.get("applicant_comment", String.class));
+        return applicant;
+    }
+
+    private static ApplicantSummary toApplicantSummary(Row row, List<ApplicantField> fields) {
+        var values = new Object[fields.size()];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = value(row, fields.get(i));
+        }
+        return new ApplicantSummary(row.get("id", UUID.class),
+                toInstant(row.get("creation_timestamp", LocalDateTime.class)), fields, values);
+    }
+
+    @Nullable
+    private static Object value(Row row, ApplicantField field) {
+        var column = field.getColumnName();
+        switch (field) {
+            case ID:
+            case PROPERTY_ID:
+                return row.get(column, UUID.class);
+            case SALUTATION:
+                return enumValue(Salutation.values(), row.get(column, Integer.class));
+            case CREATION_SOURCE:
+                return enumValue(CreationSource.values(), row.get(column, Integer.class));
+            case STATUS:
+                return enumValue(Status.values(), row.get(column, Integer.class));
+            case CREATION_TIMESTAMP:
+            case LAST_MODIFIED_TIMESTAMP:
+                return toInstant(row.get(column, LocalDateTime.class));
+            case VERSION:
+                return row.get(column, Long.class);
+            case WBS_PRESENT:
+            case PETS:
+                return Boolean.TRUE.equals(row.get(column, Boolean.class));
+            case NUMBER_OF_PERSONS:
+                return row.get(column, Integer.class);
+            case EARLIEST_MOVE_IN_DATE:
+                return row.get(column, LocalDate.class);
+            default:
+                return row.get(column, String.class);
+        }
+    }
+
+    @Nullable
+    private static <E extends Enum<E>> E enumValue(E[] values, @Nullable Integer ordinal) {
+        return ordinal == null ? null : values[ordinal];
+    }
+
+    @Nullable
+    private static Instant toInstant(@Nullable LocalDateTime timestamp) {
+        return timestamp == null ? null : timestamp.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static String escapeLikeWildcards(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,46 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import java.util.function.Supplier;
+
+//  TO NOTE: whether the reads of the current thread have to go to the primary although they are read-only, e.g.
+//      because the client just changed something that a replica might not have yet. Kept in a thread local like
+//      SqlStatementCounter - reads on other threads (e.g. of streamed exports) have to require the primary themselves.
+//      Without read replicas, everything goes to the primary anyway.
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void reset() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static <T> T onPrimary(Supplier<T> reads) {
+        if (isPrimaryRequired()) {
+            return reads.get();
+        }
+        requirePrimary();
+        try {
+            return reads.get();
+        } finally {
+            reset();
+        }
+    }
+
+    public static void onPrimary(Runnable reads) {
+        onPrimary(() -> {
+            reads.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+//  TO NOTE: read-only transactions (@Transactional(readOnly = true), e.g. the finders of the repositories) get their
+//      connection from one of the healthy replicas (round robin), everything else from the primary. The decision is
+//      made when the connection is needed - which is why this datasource is only used behind a
+//      LazyConnectionDataSourceProxy (the transaction managers get the connection before the transaction is marked as
+//      read-only). A replica is healthy when it could be reached and isn't lagging behind too far at the last check.
+//      As the checks are periodic, a replica that goes down fails reads until the next check.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maximumLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ApplicantReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).collect(Collectors.toList());
+        this.lagQuery = properties.getLagQuery();
+        this.maximumLagSeconds = properties.getMaximumLag().toMillis() / 1000.0;
+
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.writes = routed(meterRegistry, PRIMARY, "write");
+        this.replicaReads = routed(meterRegistry, "replica", "read");
+        this.readYourWritesReads = routed(meterRegistry, PRIMARY, "read-your-writes");
+        this.fallbackReads = routed(meterRegistry, PRIMARY, "replicas-unhealthy");
+        Gauge.builder("applicants.read.replicas.healthy", this.replicas,
+                        all -> all.stream().filter(Replica::isHealthy).count())
+                .description("replicas that currently get reads")
+                .register(meterRegistry);
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("applicants.datasource.connections")
+                .description("connections by the datasource they were routed to")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        if (ReplicaRouting.isPrimaryRequired()) {
+            readYourWritesReads.increment();
+            return PRIMARY;
+        }
+        var start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (var i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                replicaReads.increment();
+                return replica.getName();
+            }
+        }
+        fallbackReads.increment();
+        return PRIMARY;
+    }
+
+    @Scheduled(initialDelayString = "${applicants.read-replicas.health-check-interval:PT5S}",
+            fixedDelayString = "${applicants.read-replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        boolean healthy;
+        try (var connection = replica.getDataSource().getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                healthy = connection.isValid(1);
+            } else {
+                try (var statement = connection.createStatement();
+                     var resultSet = statement.executeQuery(lagQuery)) {
+                    healthy = resultSet.next() && isWithinMaximumLag(resultSet.getDouble(1), resultSet.wasNull());
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Couldn't check replica {}", replica.getName(), e);
+            healthy = false;
+        }
+        if (healthy != replica.isHealthy()) {
+            log.info("Replica {} is {}", replica.getName(), healthy ? "healthy again" : "unhealthy, its reads go to the primary");
+        }
+        replica.setHealthy(healthy);
+    }
+
+    private boolean isWithinMaximumLag(double lagSeconds, boolean unknown) {
+        return !unknown && lagSeconds <= maximumLagSeconds;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+        primary.close();
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource dataSource;
+        //  replicas are only used once they were checked
+        private volatile boolean healthy;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return dataSource.getPoolName();
+        }
+
+        HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//  TO NOTE: hibernate creates the inspector itself (see application.properties), so the count is kept in a
+//      thread local. Statements are only counted between start and stop on the same thread - statements of async
+//      parts of a request (e.g. streamed exports) aren't counted. A JDBC batch is counted as one statement.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    public static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    public static int stop() {
+        var statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? 0 : statements[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,29 @@
+-- applicants that were moved out of the applicant table by the archival job (same columns, see ApplicantArchiver)
+CREATE TABLE archived_applicant
+(
+    id                      UUID         NOT NULL,
+    applicant_comment       VARCHAR(255),
+    creation_source         INT4,
+    creation_timestamp      TIMESTAMP,
+    earliest_move_in_date   DATE,
+    email                   VARCHAR(255),
+    first_name              VARCHAR(255),
+    last_name               VARCHAR(255),
+    number_of_persons       INT4         NOT NULL,
+    pets                    BOOLEAN      NOT NULL,
+    property_id             UUID,
+    salutation              INT4,
+    status                  INT4,
+    user_comment            VARCHAR(255),
+    wbs_present             BOOLEAN      NOT NULL,
+    version                 BIGINT       NOT NULL,
+    last_modified_timestamp TIMESTAMP,
+    archived_timestamp      TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- listings that include the archive (newest first, like the ones of the applicant table)
+CREATE INDEX idx_archived_applicant_property_creation ON archived_applicant (property_id, creation_timestamp DESC, id DESC);
+
+-- the applicants that are archived are found by their last modification
+CREATE INDEX idx_applicant_last_modified ON applicant (last_modified_timestamp);
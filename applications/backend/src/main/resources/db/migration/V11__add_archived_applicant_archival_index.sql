@@ -0,0 +1,2 @@
+-- the last archival of a property is part of the version of its listings (see ApplicantListingCache)
+CREATE INDEX idx_archived_applicant_property_archived ON archived_applicant (property_id, archived_timestamp);
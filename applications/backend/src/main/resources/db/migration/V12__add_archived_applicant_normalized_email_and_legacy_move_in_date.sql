@@ -0,0 +1,3 @@
+-- columns of the applicant table that weren't archived yet (see ApplicantArchiver)
+ALTER TABLE archived_applicant ADD COLUMN normalized_email VARCHAR(255);
+ALTER TABLE archived_applicant ADD COLUMN earliest_move_in_date_legacy VARCHAR(255);
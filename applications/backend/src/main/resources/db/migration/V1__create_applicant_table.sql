@@ -0,0 +1,19 @@
+CREATE TABLE applicant
+(
+    id                    VARCHAR(255) NOT NULL,
+    applicant_comment     VARCHAR(255),
+    creation_source       INT4,
+    creation_timestamp    TIMESTAMP,
+    earliest_move_in_date VARCHAR(255),
+    email                 VARCHAR(255),
+    first_name            VARCHAR(255),
+    last_name             VARCHAR(255),
+    number_of_persons     INT4         NOT NULL,
+    pets                  BOOLEAN      NOT NULL,
+    property_id           UUID,
+    salutation            INT4,
+    status                INT4,
+    user_comment          VARCHAR(255),
+    wbs_present           BOOLEAN      NOT NULL,
+    PRIMARY KEY (id)
+);
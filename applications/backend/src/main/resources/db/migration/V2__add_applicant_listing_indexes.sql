@@ -0,0 +1,5 @@
+-- listing all applicants of a property, newest first (the id is the tie-breaker of the keyset pagination)
+CREATE INDEX idx_applicant_property_creation ON applicant (property_id, creation_timestamp DESC, id DESC);
+
+-- listing applicants of a property filtered by status (the most used filter)
+CREATE INDEX idx_applicant_property_status_creation ON applicant (property_id, status, creation_timestamp DESC, id DESC);
@@ -0,0 +1,7 @@
+-- the version is incremented on every update of an applicant (optimistic locking, ETags of single applicants)
+ALTER TABLE applicant ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- the latest modification of the applicants of a property is the version of its applicant listings (ETags)
+ALTER TABLE applicant ADD COLUMN last_modified_timestamp TIMESTAMP;
+UPDATE applicant SET last_modified_timestamp = creation_timestamp;
+CREATE INDEX idx_applicant_property_last_modified ON applicant (property_id, last_modified_timestamp DESC);
@@ -0,0 +1,15 @@
+-- portal applicants are unique per property and (normalized) email, re-sent applicants aren't stored again
+ALTER TABLE applicant ADD COLUMN normalized_email VARCHAR(255);
+
+-- for existing duplicates, only the oldest applicant gets the normalized email, the others stay as they are
+UPDATE applicant a SET normalized_email = LOWER(TRIM(a.email))
+WHERE a.creation_source = 1
+  AND a.email IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM applicant b
+                  WHERE b.property_id = a.property_id
+                    AND b.creation_source = 1
+                    AND LOWER(TRIM(b.email)) = LOWER(TRIM(a.email))
+                    AND (b.creation_timestamp < a.creation_timestamp
+                        OR (b.creation_timestamp = a.creation_timestamp AND b.id < a.id)));
+
+CREATE UNIQUE INDEX idx_applicant_property_normalized_email ON applicant (property_id, normalized_email);
@@ -0,0 +1,2 @@
+-- filtering the applicants of a property by their earliest move-in date (moveInFrom / moveInTo)
+CREATE INDEX idx_applicant_property_move_in ON applicant (property_id, earliest_move_in_date);
@@ -0,0 +1,78 @@
+package de.pascalbe.searchrequests.applicants;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//  a portal may store one applicant right away and gets a new token every 100 s - like all clients that aren't
+//      configured, which share the limit of their address
+@SpringBootTest(properties = {
+        "applicants.admission-control.enabled=true",
+        "applicants.admission-control.ingestion.applicants-per-second=0.01",
+        "applicants.admission-control.ingestion.burst=1",
+        "applicants.admission-control.clients.known-portal.applicants-per-second=0.01",
+        "applicants.admission-control.clients.known-portal.burst=1"})
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+public class AdmissionControlIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"salutation\": \"MRS\", " +
+            "\"wbsPresent\": true, " +
+            "\"pets\": false, " +
+            "\"numberOfPersons\": 3" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRejectPortalsThatStoreTooManyApplicants() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var endpoint = "/properties/" + propertyId + "/external-applicants";
+        var portal = "known-portal";
+
+        mockMvc.perform(post(endpoint).header("X-Client-Id", portal)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(endpoint).header("X-Client-Id", portal)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"));
+
+        //  other portals and the reads aren't affected
+        mockMvc.perform(post(endpoint).header("X-Client-Id", "unknown-portal")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isOk());
+        //  unknown portals can't get another limit by sending another id
+        mockMvc.perform(post(endpoint).header("X-Client-Id", "another-unknown-portal")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/properties/" + propertyId + "/applicants").header("X-Client-Id", portal))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "applicants_admission_requests_total{budget=\"writes\",reason=\"rate-limit\",result=\"rejected\",}")));
+    }
+}
@@ -0,0 +1,191 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantArchiver;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//  an own database, as the archiver archives the (old enough) applicants of all properties - and a small batch size,
+//      so that the applicants are moved in multiple batches
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archival",
+        "applicants.archive.batch-size=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantArchivalIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"salutation\": \"MRS\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicantArchiver archiver;
+
+    @Autowired
+    private ApplicantRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMoveDeclinedApplicantsToTheArchiveAfterAWhile() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = givenApplicantIsCreated(propertyId);
+        var chris = givenApplicantIsCreated(propertyId);
+        givenApplicantIsDeclined(propertyId, chris);
+        //  the listing is cached now
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        assertThat(archiver.archive(Instant.now().plus(Duration.ofDays(29)))).isZero();
+        assertThat(archiver.archive(Instant.now().plus(Duration.ofDays(31)))).isEqualTo(1);
+
+        assertThat(repository.findById(UUID.fromString(chris))).isEmpty();
+        mockMvc.perform(get("/applicants/" + chris))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/applicants/" + chris).queryParam("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + chris + "-1\""))
+                .andExpect(jsonPath("$.status").value("DECLINED"))
+                .andExpect(jsonPath("$.archivedTimestamp").value(notNullValue()));
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(john));
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(chris))
+                .andExpect(jsonPath("$[1].id").value(john));
+    }
+
+    @Test
+    void shouldNotConsiderListingsNotModifiedAfterApplicantsWereArchived() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = givenApplicantIsCreated(propertyId);
+        givenApplicantIsDeclined(propertyId, john);
+        //  the last modification of the property stays the one of chris when john is archived
+        givenApplicantIsCreated(propertyId);
+        var eTag = mockMvc.perform(get(getApplicantsEndpoint(propertyId)))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        assertThat(archiver.archive(Instant.now().plus(Duration.ofDays(31)))).isEqualTo(1);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldKeepTheColumnsThatAreNotReturnedWhenArchiving() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var result = mockMvc.perform(post("/properties/" + propertyId + "/external-applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("john.doe", "John.Doe")))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var id = UUID.fromString(JsonPath.read(result.getResponse().getContentAsString(), "$.id"));
+        jdbcTemplate.update("UPDATE applicant SET earliest_move_in_date_legacy = 'asap' WHERE id = ?", id);
+
+        assertThat(archiver.archive(Instant.now().plus(Duration.ofDays(181)))).isGreaterThanOrEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT normalized_email, earliest_move_in_date_legacy FROM archived_applicant WHERE id = ?", id))
+                .containsEntry("NORMALIZED_EMAIL", "john.doe@example.com")
+                .containsEntry("EARLIEST_MOVE_IN_DATE_LEGACY", "asap");
+    }
+
+    @Test
+    void shouldMoveAllInactiveApplicantsToTheArchive() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var first = givenApplicantIsCreated(propertyId);
+        var second = givenApplicantIsCreated(propertyId);
+        var third = givenApplicantIsCreated(propertyId);
+
+        assertThat(archiver.archive(Instant.now().plus(Duration.ofDays(181)))).isGreaterThanOrEqualTo(3);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(third))
+                .andExpect(jsonPath("$[1].id").value(second))
+                .andExpect(jsonPath("$[2].id").value(first));
+    }
+
+    @Test
+    void shouldPageThroughActiveAndArchivedApplicants() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var first = givenApplicantIsCreated(propertyId);
+        var second = givenApplicantIsCreated(propertyId);
+        var third = givenApplicantIsCreated(propertyId);
+        givenApplicantIsDeclined(propertyId, second);
+        archiver.archive(Instant.now().plus(Duration.ofDays(31)));
+
+        var firstPage = mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("includeArchived", "true")
+                        .queryParam("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(third))
+                .andExpect(jsonPath("$[1].id").value(second))
+                .andReturn();
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("includeArchived", "true")
+                        .queryParam("limit", "2")
+                        .queryParam("cursor", firstPage.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(first));
+    }
+
+    private String givenApplicantIsCreated(UUID propertyId) throws Exception {
+        var result = mockMvc.perform(post(getApplicantsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+    }
+
+    private void givenApplicantIsDeclined(UUID propertyId, String applicantId) throws Exception {
+        mockMvc.perform(post("/properties/" + propertyId + "/applicants/status-transitions")
+                        .contentType("application/json")
+                        .content("{\"status\": \"DECLINED\", \"applicants\": [{\"id\": \"" + applicantId + "\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("CHANGED"));
+    }
+
+    private static String getApplicantsEndpoint(UUID propertyId) {
+        return "/properties/" + propertyId + "/applicants";
+    }
+}
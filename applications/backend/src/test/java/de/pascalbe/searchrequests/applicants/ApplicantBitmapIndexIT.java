@@ -0,0 +1,182 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import de.pascalbe.searchrequests.applicants.domain.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "applicants.bitmap-index.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantBitmapIndexIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"salutation\": \"MRS\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicantRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldFilterApplicantsWithTheIndex() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId);
+        var margit = this.givenApplicantIsCreated("Margit", propertyId);
+        this.givenApplicantIsCreated("Greg", UUID.randomUUID());
+
+        givenApplicant(john, Status.INVITED, true, false);
+        givenApplicant(chris, Status.INVITED, false, true);
+        givenApplicant(margit, Status.INVITED, true, true);
+        var indexLookups = indexLookups();
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "INVITED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(margit))
+                .andExpect(jsonPath("$[0].firstName").value("Margit"))
+                .andExpect(jsonPath("$[1].id").value(chris))
+                .andExpect(jsonPath("$[2].id").value(john));
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("wbsPresent", "true")
+                        .queryParam("pets", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(john));
+
+        assertThat(indexLookups()).isEqualTo(indexLookups + 2);
+    }
+
+    @Test
+    void shouldPageThroughTheApplicantsOfTheIndexWithACursor() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId);
+        var margit = this.givenApplicantIsCreated("Margit", propertyId);
+
+        var firstPage = mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("status", "CREATED")
+                        .queryParam("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(margit))
+                .andExpect(jsonPath("$[1].id").value(chris))
+                .andReturn();
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("status", "CREATED")
+                        .queryParam("limit", "2")
+                        .queryParam("cursor", firstPage.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(john));
+    }
+
+    @Test
+    void shouldFindApplicantsByTheirNewStatusAfterTheyWereChanged() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        this.givenApplicantIsCreated("Chris", propertyId);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "DECLINED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        givenApplicant(john, Status.DECLINED, false, false);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "DECLINED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(john));
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "CREATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("Chris"));
+    }
+
+    @Test
+    void shouldFindApplicantsByTheStatusTheyGotFromABulkTransition() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId);
+
+        mockMvc.perform(post(getApplicantsEndpoint(propertyId) + "/status-transitions")
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\", \"applicants\": [{\"id\": \"" + john + "\"}]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "INVITED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(john));
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "CREATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(chris));
+    }
+
+    @Test
+    void shouldStillFilterByPartsOfTheEmailWithTheDatabase() throws Exception {
+        var propertyId = UUID.randomUUID();
+        this.givenApplicantIsCreated("John", propertyId);
+        var indexLookups = indexLookups();
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("status", "CREATED")
+                        .queryParam("partOfEmail", "john"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        assertThat(indexLookups()).isEqualTo(indexLookups);
+    }
+
+    private String givenApplicantIsCreated(String name, UUID propertyId) throws Exception {
+        var response = mockMvc.perform(post(getApplicantsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("John", name)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.id");
+    }
+
+    private void givenApplicant(String applicantId, Status status, boolean wbsPresent, boolean pets) {
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
+        applicant.setStatus(status);
+        applicant.setWbsPresent(wbsPresent);
+        applicant.setPets(pets);
+        repository.save(applicant);
+    }
+
+    private double indexLookups() {
+        return meterRegistry.get("applicants.bitmap.index.lookups").tag("result", "index").counter().count();
+    }
+
+    private String getApplicantsEndpoint(UUID propertyId) {
+        return "/properties/" + propertyId + "/applicants";
+    }
+}
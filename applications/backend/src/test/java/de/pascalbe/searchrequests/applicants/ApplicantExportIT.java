@@ -0,0 +1,66 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantExportIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExportAllApplicantsOfAPropertyAsNdjson() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var summer = this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+        this.givenApplicantIsCreated("Greg", UUID.randomUUID());
+
+        var asyncResult = mockMvc.perform(get("/properties/" + propertyId + "/applicants/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var response = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = response.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat((String) JsonPath.read(lines[0], "$.id")).isEqualTo(rick);
+        assertThat((String) JsonPath.read(lines[1], "$.id")).isEqualTo(summer);
+    }
+
+    private String givenApplicantIsCreated(String name, UUID propertyId) throws Exception {
+        var response = mockMvc.perform(post("/properties/" + propertyId + "/applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("John", name)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.id");
+    }
+}
@@ -0,0 +1,120 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCursor;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "applicants.feed.replay-limit=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantFeedIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicantRepository repository;
+
+    @Test
+    void shouldSendNewApplicantsToSubscribers() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = givenApplicantIsCreated(propertyId);
+
+        var subscription = mockMvc.perform(get(getFeedEndpoint(propertyId)))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        var chris = givenApplicantIsCreated(propertyId);
+
+        var events = awaitEventContaining(subscription, chris);
+        assertThat(events).doesNotContain(john);
+        assertThat(events).contains("event:applicant");
+    }
+
+    @Test
+    void shouldSendMissedApplicantsWhenResumingASubscription() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = givenApplicantIsCreated(propertyId);
+        var chris = givenApplicantIsCreated(propertyId);
+        var johnsCursor = ApplicantCursor.of(repository.findById(UUID.fromString(john)).orElseThrow()).encode();
+
+        var subscription = mockMvc.perform(get(getFeedEndpoint(propertyId)).header("Last-Event-ID", johnsCursor))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        var events = awaitEventContaining(subscription, chris);
+        assertThat(events).doesNotContain(john);
+    }
+
+    @Test
+    void shouldSendAGapWhenMoreApplicantsWereMissedThanAreReplayed() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = givenApplicantIsCreated(propertyId);
+        var chris = givenApplicantIsCreated(propertyId);
+        var jane = givenApplicantIsCreated(propertyId);
+        var johnsCursor = ApplicantCursor.of(repository.findById(UUID.fromString(john)).orElseThrow()).encode();
+        var chrisCursor = ApplicantCursor.of(repository.findById(UUID.fromString(chris)).orElseThrow()).encode();
+
+        var subscription = mockMvc.perform(get(getFeedEndpoint(propertyId)).header("Last-Event-ID", johnsCursor))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        var events = awaitEventContaining(subscription, "event:gap");
+        assertThat(events).contains(chris);
+        assertThat(events).contains("id:" + chrisCursor + "\nevent:gap");
+        assertThat(events).doesNotContain(jane);
+    }
+
+    @Test
+    void shouldFailToSubscribeWithAnInvalidLastEventId() throws Exception {
+        mockMvc.perform(get(getFeedEndpoint(UUID.randomUUID())).header("Last-Event-ID", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String awaitEventContaining(MockHttpServletResponse subscription, String text) throws Exception {
+        for (var attempt = 0; attempt < 50; attempt++) {
+            var events = subscription.getContentAsString();
+            if (events.contains(text)) {
+                return events;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("no event containing " + text + " in " + subscription.getContentAsString());
+    }
+
+    private String givenApplicantIsCreated(UUID propertyId) throws Exception {
+        var response = mockMvc.perform(post("/properties/" + propertyId + "/applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.id");
+    }
+
+    private String getFeedEndpoint(UUID propertyId) {
+        return "/properties/" + propertyId + "/applicants/feed";
+    }
+}
@@ -0,0 +1,156 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"applicants.ingestion.enabled=true", "applicants.ingestion.max-batch-delay=1s"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantIngestionIT {
+    private static final String CREATE_APPLICANT_ENDPOINT = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/external-applicants";
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"numberOfPersons\": 3" +
+            "}";
+    private static final String SPOOLED_APPLICANT_ID = UUID.randomUUID().toString();
+    private static final String SPOOLED_DUPLICATE_ID = UUID.randomUUID().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    //  simulates applicants that were accepted (one of them resent by the portal), but not stored before the app crashed
+    @DynamicPropertySource
+    static void spoolDirectory(DynamicPropertyRegistry registry) throws Exception {
+        var spoolDirectory = Files.createTempDirectory("applicant-spool");
+        Files.writeString(spoolDirectory.resolve("applicants-1.spool"),
+                "{\"id\": \"" + SPOOLED_APPLICANT_ID + "\", " +
+                        "\"propertyId\": \"6c54590a-04d4-46e6-b383-d1bc8be8e530\", " +
+                        "\"email\": \"jane.doe@example.com\", " +
+                        "\"creationSource\": \"PORTAL\", " +
+                        "\"status\": \"CREATED\"}\n" +
+                        "{\"id\": \"" + SPOOLED_DUPLICATE_ID + "\", " +
+                        "\"propertyId\": \"6c54590a-04d4-46e6-b383-d1bc8be8e530\", " +
+                        "\"email\": \"Jane.Doe@example.com\", " +
+                        "\"creationSource\": \"PORTAL\", " +
+                        "\"status\": \"CREATED\"}\n" +
+                        "{\"id\": \"incomplete",
+                StandardCharsets.UTF_8);
+        registry.add("applicants.ingestion.spool-directory", spoolDirectory::toString);
+    }
+
+    @Test
+    void shouldAcceptExternalApplicantsAndStoreThemLater() throws Exception {
+        var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+
+        String applicantId = JsonPath.read(requestResult.getResponse().getContentAsString(), "$.id");
+        awaitApplicantIsStored(applicantId);
+
+        mockMvc.perform(get("/applicants/" + applicantId))
+                .andExpect(jsonPath("$.email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.numberOfPersons").value(3));
+    }
+
+    @Test
+    void shouldAcceptAnApplicantThatIsSentAgainBeforeItIsStoredOnlyOnce() throws Exception {
+        var resentApplicant = "{\"email\": \"max.mustermann@example.com\", \"firstName\": \"Max\", \"lastName\": \"Mustermann\"}";
+        var first = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+                        .contentType("application/json")
+                        .content(resentApplicant))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        var second = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+                        .contentType("application/json")
+                        .content(resentApplicant.replace("max.mustermann", "Max.Mustermann")))
+                .andReturn();
+
+        String firstId = JsonPath.read(first.getResponse().getContentAsString(), "$.id");
+        String secondId = JsonPath.read(second.getResponse().getContentAsString(), "$.id");
+        assertThat(secondId).isEqualTo(firstId);
+        awaitApplicantIsStored(firstId);
+    }
+
+    @Test
+    void shouldKeepAcceptedApplicantsWhileTheDatabaseFails() throws Exception {
+        var endpoint = "/properties/" + UUID.randomUUID() + "/external-applicants";
+        //  loads the duplicate detection of the property, which needs the DB
+        acceptApplicant(endpoint, "first@example.com");
+
+        jdbcTemplate.execute("ALTER TABLE applicant RENAME TO applicant_offline");
+        String secondId;
+        String thirdId;
+        try {
+            secondId = acceptApplicant(endpoint, "second@example.com");
+            thirdId = acceptApplicant(endpoint, "third@example.com");
+            //  the writer fails to store them (at least once) in the meantime
+            Thread.sleep(2500);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE applicant_offline RENAME TO applicant");
+        }
+
+        awaitApplicantIsStored(secondId);
+        awaitApplicantIsStored(thirdId);
+    }
+
+    @Test
+    void shouldStoreSpooledApplicantsOnStartup() throws Exception {
+        mockMvc.perform(get("/applicants/" + SPOOLED_APPLICANT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("jane.doe@example.com"));
+    }
+
+    @Test
+    void shouldSkipSpooledDuplicatesOnStartup() throws Exception {
+        mockMvc.perform(get("/applicants/" + SPOOLED_DUPLICATE_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    private String acceptApplicant(String endpoint, String email) throws Exception {
+        var result = mockMvc.perform(post(endpoint)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("john.doe@example.com", email)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+    }
+
+    private void awaitApplicantIsStored(String applicantId) throws Exception {
+        for (var attempt = 0; attempt < 50; attempt++) {
+            var status = mockMvc.perform(get("/applicants/" + applicantId)).andReturn().getResponse().getStatus();
+            if (status == 200) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("applicant " + applicantId + " was not stored");
+    }
+}
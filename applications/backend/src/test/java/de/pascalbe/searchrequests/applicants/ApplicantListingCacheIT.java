@@ -0,0 +1,68 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "applicants.listing-cache.time-to-live=1s")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantListingCacheIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldSeeChangesThatDidNotGoThroughTheAppAfterTheTimeToLiveEvenWhenPolled() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var result = mockMvc.perform(post("/properties/" + propertyId + "/applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        var eTag = mockMvc.perform(get("/properties/" + propertyId + "/applicants"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        jdbcTemplate.update("UPDATE applicant SET first_name = 'Jane', version = version + 1, " +
+                "last_modified_timestamp = DATEADD(SECOND, 1, last_modified_timestamp) WHERE id = ?", UUID.fromString(id));
+
+        //  a client that polls the listing keeps reading it from the cache
+        for (var attempt = 0; attempt < 50; attempt++) {
+            var response = mockMvc.perform(get("/properties/" + propertyId + "/applicants").header("If-None-Match", eTag))
+                    .andReturn()
+                    .getResponse();
+            if (response.getStatus() == 200) {
+                assertThat(response.getHeader("ETag")).isNotEqualTo(eTag);
+                assertThat(response.getContentAsString()).contains("Jane");
+                return;
+            }
+            assertThat(response.getStatus()).isEqualTo(304);
+            Thread.sleep(100);
+        }
+        throw new AssertionError("the listing was never sent again");
+    }
+}
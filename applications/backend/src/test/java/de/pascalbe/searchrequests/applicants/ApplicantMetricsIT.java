@@ -0,0 +1,55 @@
+package de.pascalbe.searchrequests.applicants;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+public class ApplicantMetricsIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExportListingLatenciesByFilterCombinationAndResultSize() throws Exception {
+        var propertyId = UUID.randomUUID();
+        mockMvc.perform(post("/properties/" + propertyId + "/applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/properties/" + propertyId + "/applicants")
+                        .queryParam("status", "CREATED")
+                        .queryParam("partOfEmail", "john"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{exception=\"None\",filters=\"status+partOfEmail\""),
+                        containsString("resultSize=\"1-10\""),
+                        containsString("http_server_requests_statements_count{filters=\"status+partOfEmail\""),
+                        containsString("spring_data_repository_invocations_seconds_bucket"),
+                        containsString("hikaricp_connections_active"))));
+    }
+}
@@ -0,0 +1,213 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantResponseFormatsIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldRetrieveApplicantsAsJsonByDefault() throws Exception {
+        var propertyId = UUID.randomUUID();
+        this.givenApplicantIsCreated("Rick", propertyId);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).header("Accept", "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
+
+    @Test
+    void shouldRetrieveApplicantsAsNdjson() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var summer = this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+
+        var response = mockMvc.perform(get(getApplicantsEndpoint(propertyId)).accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = response.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat((String) JsonPath.read(lines[0], "$.id")).isEqualTo(rick);
+        assertThat((String) JsonPath.read(lines[1], "$.id")).isEqualTo(summer);
+    }
+
+    @Test
+    void shouldRetrieveApplicantsAsCbor() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+
+        var response = mockMvc.perform(get(getApplicantsEndpoint(propertyId)).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        List<Map<String, Object>> applicants = new CBORMapper().readValue(response, new TypeReference<>() {
+        });
+        assertThat(applicants).hasSize(1);
+        assertThat(applicants.get(0)).containsEntry("id", rick).containsEntry("firstName", "Rick");
+        assertThat(applicants.get(0).get("creationTimestamp")).isInstanceOf(String.class);
+    }
+
+    @Test
+    void shouldRetrieveApplicantsAsSmile() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+
+        var response = mockMvc.perform(get(getApplicantsEndpoint(propertyId)).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        List<Map<String, Object>> applicants = new SmileMapper().readValue(response, new TypeReference<>() {
+        });
+        assertThat(applicants).hasSize(1);
+        assertThat(applicants.get(0)).containsEntry("id", rick).containsEntry("firstName", "Rick");
+    }
+
+    @Test
+    void shouldExportApplicantsAsSequenceOfCborItems() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var summer = this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+
+        var response = this.export(propertyId, "application/cbor-seq");
+
+        assertThat(readIds(new CBORMapper(), response)).containsExactly(rick, summer);
+    }
+
+    @Test
+    void shouldExportApplicantsAsSequenceOfSmileValues() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var summer = this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+
+        var response = this.export(propertyId, "application/x-jackson-smile");
+
+        assertThat(readIds(new SmileMapper(), response)).containsExactly(rick, summer);
+    }
+
+    @Test
+    void shouldCompressLargeResponsesForClientsThatAcceptIt() throws Exception {
+        var propertyId = UUID.randomUUID();
+        for (var i = 0; i < 20; i++) {
+            this.givenApplicantIsCreated("Rick" + i, propertyId);
+        }
+        var httpClient = HttpClient.newHttpClient();
+        var uri = URI.create("http://localhost:" + port + getApplicantsEndpoint(propertyId));
+
+        var compressed = httpClient.send(HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        var uncompressed = httpClient.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(compressed.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(uncompressed.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(compressed.body().length).isLessThan(uncompressed.body().length);
+        try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed.body()))) {
+            assertThat(objectMapper.readTree(inputStream)).isEqualTo(objectMapper.readTree(uncompressed.body()));
+        }
+    }
+
+    @Test
+    void shouldNotCompressSmallResponses() throws Exception {
+        var uri = URI.create("http://localhost:" + port + getApplicantsEndpoint(UUID.randomUUID()));
+
+        var response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(response.body()).isEqualTo("[]");
+    }
+
+    private byte[] export(UUID propertyId, String mediaType) throws Exception {
+        var asyncResult = mockMvc.perform(get(getApplicantsEndpoint(propertyId) + "/export").accept(mediaType))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    private static List<String> readIds(ObjectMapper mapper, byte[] sequence) throws IOException {
+        var ids = new ArrayList<String>();
+        try (var values = mapper.readerFor(JsonNode.class).<JsonNode>readValues(sequence)) {
+            while (values.hasNext()) {
+                ids.add(values.next().get("id").asText());
+            }
+        }
+        return ids;
+    }
+
+    private String givenApplicantIsCreated(String name, UUID propertyId) throws Exception {
+        var response = mockMvc.perform(post(getApplicantsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("John", name)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.id");
+    }
+
+    private String getApplicantsEndpoint(UUID propertyId) {
+        return "/properties/" + propertyId + "/applicants";
+    }
+}
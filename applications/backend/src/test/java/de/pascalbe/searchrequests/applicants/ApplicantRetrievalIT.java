@@ -1,6 +1,7 @@
 package de.pascalbe.searchrequests.applicants;
 
 import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
 import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
 import de.pascalbe.searchrequests.applicants.domain.Status;
 import org.junit.jupiter.api.Test;
@@ -10,10 +11,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -109,6 +113,18 @@ public class ApplicantRetrievalIT {
                 .andExpect(jsonPath("$[1].firstName").value("Chris"));
     }
 
+    @Test
+    void shouldMatchWildcardCharactersInPartsOfTheEmailLiterally() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var chris = this.givenApplicantIsCreated("Chris", propertyId, "chris_r@gmail.com");
+        this.givenApplicantIsCreated("Christina", propertyId, "chrisxr@gmail.com");
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("partOfEmail", "s_r"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(chris));
+    }
+
     @Test
     void shouldBeAbleToRetrieveOnlyApplicantsWithASpecificNumberOfPersons() throws Exception {
         var propertyId = UUID.randomUUID();
@@ -143,6 +159,22 @@ public class ApplicantRetrievalIT {
                 .andExpect(jsonPath("$[0].firstName").value("Teja"));
     }
 
+    @Test
+    void shouldBeAbleToRetrieveOnlyApplicantsWithoutPets() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var christina = this.givenApplicantIsCreated("Christina", propertyId, SAMPLE_EMAIL_ADDRESS);
+        var thorsten = this.givenApplicantIsCreated("Thorsten", propertyId, SAMPLE_EMAIL_ADDRESS);
+        this.givenApplicantIsCreated("Teja", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        givenApplicantHasPets(christina, true);
+        givenApplicantHasPets(thorsten, true);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("pets", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("Teja"));
+    }
+
     @Test
     void shouldBeAbleToFilterByAllParameters() throws Exception {
         var propertyId = UUID.randomUUID();
@@ -201,6 +233,215 @@ public class ApplicantRetrievalIT {
                 .andExpect(jsonPath("$[2].id").value(john));
     }
 
+    @Test
+    void shouldBeAbleToPageThroughApplicantsWithACursor() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId, SAMPLE_EMAIL_ADDRESS);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId, SAMPLE_EMAIL_ADDRESS);
+        var margit = this.givenApplicantIsCreated("Margit", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        var firstPage = mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(margit))
+                .andExpect(jsonPath("$[1].id").value(chris))
+                .andReturn();
+
+        var nextCursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("limit", "2")
+                        .queryParam("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(john));
+    }
+
+    @Test
+    void shouldBeAbleToFilterApplicantsByTheirEarliestMoveInDate() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId, SAMPLE_EMAIL_ADDRESS);
+        var lisa = this.givenApplicantIsCreated("Lisa", propertyId, SAMPLE_EMAIL_ADDRESS);
+        var thorsten = this.givenApplicantIsCreated("Thorsten", propertyId, SAMPLE_EMAIL_ADDRESS);
+        this.givenApplicantIsCreated("Chris", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        givenApplicantMovesInAt(john, LocalDate.of(2024, 2, 29));
+        givenApplicantMovesInAt(lisa, LocalDate.of(2024, 3, 1));
+        givenApplicantMovesInAt(thorsten, LocalDate.of(2024, 3, 31));
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("moveInFrom", "2024-03-01")
+                        .queryParam("moveInTo", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].firstName").value("Thorsten"))
+                .andExpect(jsonPath("$[1].firstName").value("Lisa"));
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("moveInTo", "2024-03-01")
+                        .queryParam("fields", "firstName,earliestMoveInDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].firstName").value("Lisa"))
+                .andExpect(jsonPath("$[0].earliestMoveInDate").value("2024-03-01"))
+                .andExpect(jsonPath("$[1].firstName").value("John"));
+    }
+
+    @Test
+    void shouldNotFilterApplicantsByAnInvalidMoveInRange() throws Exception {
+        mockMvc.perform(get(getApplicantsEndpoint(UUID.randomUUID()))
+                        .queryParam("moveInFrom", "2024-04-01")
+                        .queryParam("moveInTo", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(getApplicantsEndpoint(UUID.randomUUID())).queryParam("moveInFrom", "next week"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldOnlyRetrieveTheSummaryOfTheApplicantsInListings() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(6))
+                .andExpect(jsonPath("$[0].id").value(john))
+                .andExpect(jsonPath("$[0].email").value(SAMPLE_EMAIL_ADDRESS))
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(jsonPath("$[0].lastName").value("Doe"))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].creationTimestamp").exists())
+                .andExpect(jsonPath("$[0].userComment").doesNotExist());
+
+        mockMvc.perform(get("/applicants/" + john))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userComment").value("I am a comment"));
+    }
+
+    @Test
+    void shouldOnlyRetrieveTheSelectedFieldsOfTheApplicants() throws Exception {
+        var propertyId = UUID.randomUUID();
+        this.givenApplicantIsCreated("Summer", propertyId, SAMPLE_EMAIL_ADDRESS);
+        this.givenApplicantIsCreated("Rick", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        var response = mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("fields", "firstName,userComment,salutation")
+                        .queryParam("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].length()").value(3))
+                .andExpect(jsonPath("$[0].firstName").value("Rick"))
+                .andExpect(jsonPath("$[0].userComment").value("I am a comment"))
+                .andExpect(jsonPath("$[0].salutation").value("MRS"))
+                .andReturn()
+                .getResponse();
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId))
+                        .queryParam("fields", "firstName")
+                        .queryParam("cursor", response.getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("Summer"));
+    }
+
+    @Test
+    void shouldNotRetrieveUnknownFieldsOfTheApplicants() throws Exception {
+        mockMvc.perform(get(getApplicantsEndpoint(UUID.randomUUID())).queryParam("fields", "firstName,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSeeChangesOfApplicantsRightAfterTheListingWasRetrieved() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "CREATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        var chris = this.givenApplicantIsCreated("Chris", propertyId, SAMPLE_EMAIL_ADDRESS);
+        givenApplicantHasStatus(john, Status.INVITED);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "CREATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(chris));
+    }
+
+    @Test
+    void shouldRetrieveApplicantsWithRandomIdsByTheirStringForm() throws Exception {
+        //  like the applicants that were created before the ids were time-ordered
+        var applicant = new Applicant();
+        applicant.setId(UUID.randomUUID());
+        applicant.setPropertyId(UUID.randomUUID());
+        applicant.setFirstName("Greg");
+        applicant.setStatus(Status.CREATED);
+        repository.save(applicant);
+
+        mockMvc.perform(get("/applicants/" + applicant.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(applicant.getId().toString()))
+                .andExpect(jsonPath("$.firstName").value("Greg"));
+        mockMvc.perform(get("/applicants/" + applicant.getId().toString().toUpperCase()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldNotFindApplicantsWithIdsThatAreNoUuids() throws Exception {
+        mockMvc.perform(get("/applicants/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/applicants/1-2-3-4-5"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldNotSendTheApplicantAgainWhenItDidNotChange() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        var eTag = mockMvc.perform(get("/applicants/" + john))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/applicants/" + john).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        givenApplicantHasStatus(john, Status.INVITED);
+
+        mockMvc.perform(get("/applicants/" + john).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("INVITED"));
+    }
+
+    @Test
+    void shouldNotSendTheApplicantListingAgainWhenNoApplicantOfThePropertyChanged() throws Exception {
+        var propertyId = UUID.randomUUID();
+        this.givenApplicantIsCreated("John", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        var eTag = mockMvc.perform(get(getApplicantsEndpoint(propertyId)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        this.givenApplicantIsCreated("Chris", propertyId, SAMPLE_EMAIL_ADDRESS);
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
     //  TO NOTE: we could use something like the builder pattern to prepare test data in a simpler way -
     //      that would make tests easier to write and keep them easy to understand.
     private String givenApplicantIsCreated(String name, UUID propertyId, String email) throws Exception {
@@ -216,19 +457,31 @@ public class ApplicantRetrievalIT {
     }
 
     private void givenApplicantHasStatus(String applicantId, Status status) {
-        var applicant = repository.findById(applicantId).orElseThrow();
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
         applicant.setStatus(status);
         repository.save(applicant);
     }
 
     private void givenApplicantHasAWbs(String applicantId, boolean wbsPresent) {
-        var applicant = repository.findById(applicantId).orElseThrow();
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
         applicant.setWbsPresent(wbsPresent);
         repository.save(applicant);
     }
 
+    private void givenApplicantHasPets(String applicantId, boolean pets) {
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
+        applicant.setPets(pets);
+        repository.save(applicant);
+    }
+
+    private void givenApplicantMovesInAt(String applicantId, LocalDate earliestMoveInDate) {
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
+        applicant.setEarliestMoveInDate(earliestMoveInDate);
+        repository.save(applicant);
+    }
+
     private void givenApplicantSearchesForThisAmountOfPersons(String applicantId, int numberOfPersons) {
-        var applicant = repository.findById(applicantId).orElseThrow();
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
         applicant.setNumberOfPersons(numberOfPersons);
         repository.save(applicant);
     }
@@ -0,0 +1,115 @@
+package de.pascalbe.searchrequests.applicants;
+
+import de.pascalbe.searchrequests.applicants.domain.Applicant;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantCreatedEvent;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIds;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSourceCountRepository;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantSourceCounter;
+import de.pascalbe.searchrequests.applicants.domain.CreationSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantSourceStatisticsIT {
+    private static final String STATISTICS_ENDPOINT = "/statistics/applicant-sources";
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicantSourceCounter applicantSourceCounter;
+
+    @Autowired
+    private ApplicantSourceCountRepository applicantSourceCountRepository;
+
+    @Test
+    void shouldCountApplicantsPerSource() throws Exception {
+        var propertyId = UUID.randomUUID();
+        givenApplicantIsCreated("/properties/" + propertyId + "/applicants");
+        givenApplicantIsCreated("/properties/" + propertyId + "/applicants");
+        givenApplicantIsCreated("/properties/" + propertyId + "/external-applicants");
+        givenApplicantIsCreated("/properties/" + UUID.randomUUID() + "/external-applicants");
+
+        mockMvc.perform(get(STATISTICS_ENDPOINT).queryParam("propertyId", propertyId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.MANUAL").value(2))
+                .andExpect(jsonPath("$.total.PORTAL").value(1));
+
+        applicantSourceCounter.flush();
+
+        var today = LocalDate.now(ZoneOffset.UTC).toString();
+        mockMvc.perform(get(STATISTICS_ENDPOINT).queryParam("propertyId", propertyId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.MANUAL").value(2))
+                .andExpect(jsonPath("$.total.PORTAL").value(1))
+                .andExpect(jsonPath("$.days[0].day").value(today))
+                .andExpect(jsonPath("$.days[0].applicants.MANUAL").value(2))
+                .andExpect(jsonPath("$.properties").doesNotExist());
+    }
+
+    @Test
+    void shouldBreakDownApplicantSourcesByPropertyWhenNoPropertyIsGiven() throws Exception {
+        var propertyId = UUID.randomUUID();
+        givenApplicantIsCreated("/properties/" + propertyId + "/external-applicants");
+
+        mockMvc.perform(get(STATISTICS_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.properties['" + propertyId + "'].PORTAL").value(1));
+    }
+
+    @Test
+    void shouldNotCountApplicantsWithoutSource() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var applicant = new Applicant();
+        applicant.setId(ApplicantIds.next());
+        applicant.setPropertyId(propertyId);
+        applicant.setCreationTimestamp(Instant.now());
+        applicantSourceCounter.on(new ApplicantCreatedEvent(applicant));
+        givenApplicantIsCreated("/properties/" + propertyId + "/applicants");
+
+        applicantSourceCounter.flush();
+
+        var today = LocalDate.now(ZoneOffset.UTC);
+        assertThat(applicantSourceCountRepository.findAllByIdPropertyIdAndIdCreationDayBetween(propertyId, today, today))
+                .singleElement()
+                .satisfies(count -> {
+                    assertThat(count.getId().getCreationSource()).isEqualTo(CreationSource.MANUAL);
+                    assertThat(count.getApplicants()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void shouldFailForAnInvalidRange() throws Exception {
+        mockMvc.perform(get(STATISTICS_ENDPOINT).queryParam("from", "2024-02-01").queryParam("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void givenApplicantIsCreated(String endpoint) throws Exception {
+        mockMvc.perform(post(endpoint)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,206 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import de.pascalbe.searchrequests.applicants.domain.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//  a small chunk size, so that the applicants are changed in multiple chunks
+@SpringBootTest(properties = "applicants.status-transitions.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ApplicantStatusTransitionIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"salutation\": \"MRS\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicantRepository repository;
+
+    @Test
+    void shouldChangeTheStatusOfTheGivenApplicants() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId);
+        var margit = this.givenApplicantIsCreated("Margit", propertyId);
+        this.givenApplicantIsCreated("Lisa", propertyId);
+        //  the listing is cached now
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "INVITED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\", \"applicants\": [" +
+                                "{\"id\": \"" + john + "\", \"version\": 0}, " +
+                                "{\"id\": \"" + chris + "\", \"version\": 0}, " +
+                                "{\"id\": \"" + margit + "\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(john))
+                .andExpect(jsonPath("$[0].outcome").value("CHANGED"))
+                .andExpect(jsonPath("$[0].version").value(1))
+                .andExpect(jsonPath("$[1].id").value(chris))
+                .andExpect(jsonPath("$[1].outcome").value("CHANGED"))
+                .andExpect(jsonPath("$[2].id").value(margit))
+                .andExpect(jsonPath("$[2].outcome").value("CHANGED"));
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "INVITED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(margit))
+                .andExpect(jsonPath("$[1].id").value(chris))
+                .andExpect(jsonPath("$[2].id").value(john));
+        mockMvc.perform(get("/applicants/" + john))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + john + "-1\""))
+                .andExpect(jsonPath("$.status").value("INVITED"));
+    }
+
+    @Test
+    void shouldNotChangeApplicantsThatWereChangedConcurrently() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId);
+        var margit = this.givenApplicantIsCreated("Margit", propertyId);
+        var greg = this.givenApplicantIsCreated("Greg", UUID.randomUUID());
+
+        //  another employee declined John in the meantime
+        givenApplicantHasStatus(john, Status.DECLINED);
+        givenApplicantHasStatus(margit, Status.INVITED);
+
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\", \"applicants\": [" +
+                                "{\"id\": \"" + john + "\", \"version\": 0}, " +
+                                "{\"id\": \"" + chris + "\", \"version\": 0}, " +
+                                "{\"id\": \"" + margit + "\", \"version\": 1}, " +
+                                "{\"id\": \"" + greg + "\", \"version\": 0}, " +
+                                "{\"id\": \"" + UUID.randomUUID() + "\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].outcome").value("CONFLICT"))
+                .andExpect(jsonPath("$[0].version").value(1))
+                .andExpect(jsonPath("$[1].outcome").value("CHANGED"))
+                .andExpect(jsonPath("$[2].outcome").value("UNCHANGED"))
+                .andExpect(jsonPath("$[2].version").value(1))
+                //  applicants of other properties can't be changed
+                .andExpect(jsonPath("$[3].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[4].outcome").value("NOT_FOUND"));
+
+        assertThat(repository.findById(UUID.fromString(john)).orElseThrow().getStatus()).isEqualTo(Status.DECLINED);
+        assertThat(repository.findById(UUID.fromString(chris)).orElseThrow().getStatus()).isEqualTo(Status.INVITED);
+        assertThat(repository.findById(UUID.fromString(greg)).orElseThrow().getStatus()).isEqualTo(Status.CREATED);
+    }
+
+    @Test
+    void shouldChangeTheStatusOfTheApplicantsMatchingTheFilter() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+        var chris = this.givenApplicantIsCreated("Chris", propertyId);
+        var margit = this.givenApplicantIsCreated("Margit", propertyId);
+        var lisa = this.givenApplicantIsCreated("Lisa", propertyId);
+
+        givenApplicantHasAWbs(chris);
+        givenApplicantHasStatus(lisa, Status.INVITED);
+
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"DECLINED\", \"filter\": {\"status\": \"CREATED\", \"wbsPresent\": false}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(margit))
+                .andExpect(jsonPath("$[0].outcome").value("CHANGED"))
+                .andExpect(jsonPath("$[1].id").value(john))
+                .andExpect(jsonPath("$[1].outcome").value("CHANGED"));
+
+        mockMvc.perform(get(getApplicantsEndpoint(propertyId)).queryParam("status", "DECLINED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(margit))
+                .andExpect(jsonPath("$[1].id").value(john));
+        assertThat(repository.findById(UUID.fromString(chris)).orElseThrow().getStatus()).isEqualTo(Status.CREATED);
+        assertThat(repository.findById(UUID.fromString(lisa)).orElseThrow().getStatus()).isEqualTo(Status.INVITED);
+    }
+
+    @Test
+    void shouldRejectInvalidTransitions() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var john = this.givenApplicantIsCreated("John", propertyId);
+
+        //  neither applicants nor a filter
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\"}"))
+                .andExpect(status().isBadRequest());
+        //  both
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\", \"applicants\": [{\"id\": \"" + john + "\"}], \"filter\": {}}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"applicants\": [{\"id\": \"" + john + "\"}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\", \"applicants\": []}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(getStatusTransitionsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content("{\"status\": \"INVITED\", \"applicants\": [{\"version\": 0}]}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(repository.findById(UUID.fromString(john)).orElseThrow().getStatus()).isEqualTo(Status.CREATED);
+    }
+
+    private String givenApplicantIsCreated(String name, UUID propertyId) throws Exception {
+        var response = mockMvc.perform(post(getApplicantsEndpoint(propertyId))
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("John", name)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.id");
+    }
+
+    private void givenApplicantHasStatus(String applicantId, Status status) {
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
+        applicant.setStatus(status);
+        repository.save(applicant);
+    }
+
+    private void givenApplicantHasAWbs(String applicantId) {
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
+        applicant.setWbsPresent(true);
+        repository.save(applicant);
+    }
+
+    private String getApplicantsEndpoint(UUID propertyId) {
+        return "/properties/" + propertyId + "/applicants";
+    }
+
+    private String getStatusTransitionsEndpoint(UUID propertyId) {
+        return "/properties/" + propertyId + "/applicants/status-transitions";
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -20,7 +22,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 public class ExternalApplicantCreationIT {
-    private static final String CREATE_APPLICANT_ENDPOINT = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/external-applicants";
     private static final String VALID_REQUEST_BODY = "{" +
             "\"email\": \"john.doe@example.com\", " +
             "\"firstName\": \"John\", " +
@@ -36,9 +37,12 @@ public class ExternalApplicantCreationIT {
     @Autowired
     private MockMvc mockMvc;
 
+    //  applicants with the same email are only stored once per property, so every test uses its own property
+    private final String createApplicantEndpoint = "/properties/" + UUID.randomUUID() + "/external-applicants";
+
     @Test
     void shouldBeAbleToStoreAndFetchDataAboutExternalApplicants() throws Exception {
-        var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+        var requestResult = mockMvc.perform(post(createApplicantEndpoint)
                         .contentType("application/json")
                         .content(VALID_REQUEST_BODY))
                 .andExpect(status().isCreated())
@@ -62,7 +66,7 @@ public class ExternalApplicantCreationIT {
 
     @Test
     void shouldMarkApplicantsAsPortalApplicants() throws Exception {
-        var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+        var requestResult = mockMvc.perform(post(createApplicantEndpoint)
                         .contentType("application/json")
                         .content(VALID_REQUEST_BODY))
                 .andExpect(status().isCreated())
@@ -76,9 +80,17 @@ public class ExternalApplicantCreationIT {
                 .andExpect(jsonPath("$.creationSource").value(CreationSource.PORTAL.toString()));
     }
 
+    @Test
+    void shouldNotStoreApplicantsWithAnInvalidEarliestMoveInDate() throws Exception {
+        mockMvc.perform(post(createApplicantEndpoint)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("2024-01-01", "soon")))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldStoreCreationTimestampForApplicant() throws Exception {
-        var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+        var requestResult = mockMvc.perform(post(createApplicantEndpoint)
                         .contentType("application/json")
                         .content(VALID_REQUEST_BODY))
                 .andExpect(status().isCreated())
@@ -96,7 +108,7 @@ public class ExternalApplicantCreationIT {
 
     @Test
     void shouldMarkNewlyCreatedApplicantsWithStatusCreated() throws Exception {
-        var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+        var requestResult = mockMvc.perform(post(createApplicantEndpoint)
                         .contentType("application/json")
                         .content(VALID_REQUEST_BODY))
                 .andExpect(status().isCreated())
@@ -109,4 +121,44 @@ public class ExternalApplicantCreationIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CREATED"));
     }
+
+    @Test
+    void shouldBeAbleToStoreABatchOfExternalApplicants() throws Exception {
+        var batchEndpoint = createApplicantEndpoint + "/batch";
+        var requestBody = "[" + VALID_REQUEST_BODY + ", " + VALID_REQUEST_BODY.replace("John", "Jane").replace("john", "jane") + "]";
+        var requestResult = mockMvc.perform(post(batchEndpoint)
+                        .contentType("application/json")
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn();
+
+        var janesId = JsonPath.read(requestResult.getResponse().getContentAsString(), "$[1].id");
+        mockMvc.perform(get("/applicants/" + janesId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Jane"))
+                .andExpect(jsonPath("$.creationSource").value(CreationSource.PORTAL.toString()));
+    }
+
+    @Test
+    void shouldReturnTheExistingApplicantWhenAnApplicantIsSentAgain() throws Exception {
+        var requestResult = mockMvc.perform(post(createApplicantEndpoint)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var applicantId = JsonPath.read(requestResult.getResponse().getContentAsString(), "$.id");
+
+        var resentBody = VALID_REQUEST_BODY.replace("john.doe@example.com", "John.Doe@Example.com");
+        mockMvc.perform(post(createApplicantEndpoint)
+                        .contentType("application/json")
+                        .content(resentBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(applicantId));
+        mockMvc.perform(post(createApplicantEndpoint + "/batch")
+                        .contentType("application/json")
+                        .content("[" + VALID_REQUEST_BODY + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(applicantId));
+    }
 }
@@ -9,6 +9,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -52,6 +54,21 @@ public class ManualApplicantCreationIT {
                 .andExpect(jsonPath("$.salutation").value("MRS"));
     }
 
+    @Test
+    void shouldGiveApplicantsTimeOrderedIds() throws Exception {
+        var before = System.currentTimeMillis();
+        var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        var applicantId = UUID.fromString(JsonPath.read(requestResult.getResponse().getContentAsString(), "$.id"));
+        assertThat(applicantId.version()).isEqualTo(7);
+        //  the first 48 bits are the creation time in milliseconds
+        assertThat(applicantId.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis());
+    }
+
     @Test
     void shouldMarkApplicantsAsManualApplicants() throws Exception {
         var requestResult = mockMvc.perform(post(CREATE_APPLICANT_ENDPOINT)
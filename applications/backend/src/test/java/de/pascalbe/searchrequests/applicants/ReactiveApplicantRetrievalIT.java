@@ -0,0 +1,164 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "applicants.reactive-reads.enabled=true",
+        "applicants.reactive-reads.url=r2dbc:h2:mem:///testdb",
+        "applicants.reactive-reads.username=user",
+        "applicants.reactive-reads.password=password"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReactiveApplicantRetrievalIT {
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicantRepository repository;
+
+    @Test
+    void shouldGetApplicantById() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var id = this.givenApplicantIsCreated("Morty", propertyId);
+
+        this.performAsync(get("/reactive/applicants/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.propertyId").value(propertyId.toString()))
+                .andExpect(jsonPath("$.firstName").value("Morty"))
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.creationSource").value("MANUAL"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownApplicant() throws Exception {
+        this.performAsync(get("/reactive/applicants/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldListApplicantsOfAPropertyNewestFirst() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var summer = this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+        this.givenApplicantIsCreated("Greg", UUID.randomUUID());
+
+        var response = this.performAsync(get("/reactive/properties/" + propertyId + "/applicants"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> ids = JsonPath.read(response, "$[*].id");
+        assertThat(ids).containsExactly(rick, summer);
+        assertThat((String) JsonPath.read(response, "$[0].status")).isEqualTo("CREATED");
+        assertThat((String) JsonPath.read(response, "$[0].creationTimestamp")).isNotEmpty();
+    }
+
+    @Test
+    void shouldStreamFilteredApplicantsAsNdjson() throws Exception {
+        var propertyId = UUID.randomUUID();
+        this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+
+        var response = this.performAsync(get("/reactive/properties/" + propertyId + "/applicants")
+                        .param("partOfEmail", "rick")
+                        .param("fields", "id,lastName,creationSource")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = response.split("\n");
+        assertThat(lines).hasSize(1);
+        Map<String, Object> applicant = JsonPath.read(lines[0], "$");
+        assertThat(applicant).containsOnly(
+                entry("id", rick),
+                entry("lastName", "Doe"),
+                entry("creationSource", "MANUAL"));
+    }
+
+    @Test
+    void shouldFilterApplicantsByTheirEarliestMoveInDate() throws Exception {
+        var propertyId = UUID.randomUUID();
+        var summer = this.givenApplicantIsCreated("Summer", propertyId);
+        var rick = this.givenApplicantIsCreated("Rick", propertyId);
+        givenApplicantMovesInAt(summer, LocalDate.of(2024, 3, 1));
+        givenApplicantMovesInAt(rick, LocalDate.of(2024, 4, 1));
+
+        var response = this.performAsync(get("/reactive/properties/" + propertyId + "/applicants")
+                        .param("moveInFrom", "2024-02-01")
+                        .param("moveInTo", "2024-03-01")
+                        .param("fields", "id,earliestMoveInDate"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<Map<String, Object>> applicants = JsonPath.read(response, "$");
+        assertThat(applicants).containsExactly(Map.of("id", summer, "earliestMoveInDate", "2024-03-01"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidLimit() throws Exception {
+        mockMvc.perform(get("/reactive/properties/" + UUID.randomUUID() + "/applicants").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        var asyncResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(asyncResult));
+    }
+
+    private void givenApplicantMovesInAt(String applicantId, LocalDate earliestMoveInDate) {
+        var applicant = repository.findById(UUID.fromString(applicantId)).orElseThrow();
+        applicant.setEarliestMoveInDate(earliestMoveInDate);
+        repository.save(applicant);
+    }
+
+    private String givenApplicantIsCreated(String name, UUID propertyId) throws Exception {
+        var response = mockMvc.perform(post("/properties/" + propertyId + "/applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY.replace("John", name).replace("john", name.toLowerCase())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.id");
+    }
+}
@@ -0,0 +1,150 @@
+package de.pascalbe.searchrequests.applicants;
+
+import com.jayway.jsonpath.JsonPath;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import de.pascalbe.searchrequests.applicants.domain.ReplicaRouting;
+import de.pascalbe.searchrequests.applicants.domain.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//  the replica is a second in-memory database that only gets the schema (there is no replication between the two),
+//      so the applicants that are stored via the app are only found when the primary is read
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing-primary",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "applicants.read-replicas.enabled=true",
+        "applicants.read-replicas.urls=" + ReadReplicaRoutingIT.REPLICA_URL,
+        "applicants.read-replicas.lag-query=SELECT seconds FROM replica_lag",
+        "applicants.read-replicas.health-check-interval=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingIT {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+    private static final String READ_YOUR_WRITES_COOKIE = "applicants-read-primary-until";
+    private static final String VALID_REQUEST_BODY = "{" +
+            "\"email\": \"john.doe@example.com\", " +
+            "\"firstName\": \"John\", " +
+            "\"lastName\": \"Doe\", " +
+            "\"salutation\": \"MR\"" +
+            "}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ApplicantRepository applicantRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUpReplica() {
+        var dataSource = new DriverManagerDataSource(REPLICA_URL, "user", "password");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replicaRoutingDataSource.checkReplicas();
+    }
+
+    @Test
+    void shouldStoreOnPrimaryAndReadFromReplica() throws Exception {
+        var applicantId = storeApplicant(UUID.randomUUID()).getResponse().getContentAsString();
+        var id = UUID.fromString(JsonPath.read(applicantId, "$.id"));
+
+        assertThat(ReplicaRouting.onPrimary(() -> applicantRepository.findById(id))).isPresent();
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM applicant WHERE id = ?", Integer.class, id)).isZero();
+        mockMvc.perform(get("/applicants/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReadFromPrimaryShortlyAfterTheClientStoredSomething() throws Exception {
+        var result = storeApplicant(UUID.randomUUID());
+        var id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        var cookie = result.getResponse().getCookie(READ_YOUR_WRITES_COOKIE);
+        assertThat(cookie).isNotNull();
+
+        mockMvc.perform(get("/applicants/" + id).cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenReplicaLagsTooFarBehind() throws Exception {
+        var id = JsonPath.read(storeApplicant(UUID.randomUUID()).getResponse().getContentAsString(), "$.id");
+        replica.update("UPDATE replica_lag SET seconds = 60");
+        replicaRoutingDataSource.checkReplicas();
+
+        mockMvc.perform(get("/applicants/" + id))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenReplicaCantBeChecked() throws Exception {
+        var id = JsonPath.read(storeApplicant(UUID.randomUUID()).getResponse().getContentAsString(), "$.id");
+        replica.execute("DROP TABLE replica_lag");
+        replicaRoutingDataSource.checkReplicas();
+
+        mockMvc.perform(get("/applicants/" + id))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldLoadListingsOfRecentlyChangedPropertiesFromPrimary() throws Exception {
+        var propertyId = UUID.randomUUID();
+        mockMvc.perform(get("/properties/" + propertyId + "/applicants"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        storeApplicant(propertyId);
+
+        //  without the cookie of the client that stored the applicant
+        mockMvc.perform(get("/properties/" + propertyId + "/applicants"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldConfigureThePrimaryPoolAndRegisterItsMetrics() {
+        var maximumPoolSize = meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge();
+
+        assertThat(maximumPoolSize.value()).isEqualTo(7);
+    }
+
+    private MvcResult storeApplicant(UUID propertyId) throws Exception {
+        return mockMvc.perform(post("/properties/" + propertyId + "/applicants")
+                        .contentType("application/json")
+                        .content(VALID_REQUEST_BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+    }
+}
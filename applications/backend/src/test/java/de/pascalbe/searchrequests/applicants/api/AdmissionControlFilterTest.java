@@ -0,0 +1,207 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectRequestsWhileTheirBudgetIsUsedUp() throws IOException, ServletException {
+        var properties = new AdmissionControlProperties();
+        properties.setMaximumConcurrentReads(1);
+        properties.setMaximumConcurrentWrites(1);
+        var filter = new AdmissionControlFilter(properties, meterRegistry);
+        var statusesWhileReading = new ArrayList<Integer>();
+
+        //  the other requests are sent while the first read is processed
+        FilterChain read = (request, response) -> {
+            statusesWhileReading.add(send(filter, "GET", "/applicants/1").getStatus());
+            statusesWhileReading.add(send(filter, "POST", "/properties/1/applicants").getStatus());
+        };
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/properties/1/applicants"), response, read);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(statusesWhileReading).containsExactly(429, 200);
+        assertThat(send(filter, "GET", "/applicants/1").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("applicants.admission.requests")
+                .tags("budget", "reads", "result", "rejected", "reason", "concurrency")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLimitTheRateOfIngestionPerClient() throws IOException, ServletException {
+        var properties = new AdmissionControlProperties();
+        properties.getClients().put("portal", new AdmissionControlProperties.Limit(0.001, 2));
+        properties.getClients().put("other-portal", new AdmissionControlProperties.Limit(0.001, 2));
+        properties.getClients().put("big-portal", new AdmissionControlProperties.Limit(0.001, 3));
+        var filter = new AdmissionControlFilter(properties, meterRegistry);
+
+        assertThat(sendIngestion(filter, "portal").getStatus()).isEqualTo(200);
+        assertThat(sendIngestion(filter, "portal").getStatus()).isEqualTo(200);
+        var rejected = sendIngestion(filter, "portal");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        //  the next token comes in 1000 s
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(990L, 1000L);
+
+        assertThat(sendIngestion(filter, "other-portal").getStatus()).isEqualTo(200);
+        for (var i = 0; i < 3; i++) {
+            assertThat(sendIngestion(filter, "big-portal").getStatus()).isEqualTo(200);
+        }
+        assertThat(sendIngestion(filter, "big-portal").getStatus()).isEqualTo(429);
+        //  other endpoints aren't limited
+        assertThat(send(filter, "POST", "/properties/1/applicants").getStatus()).isEqualTo(200);
+        assertThat(send(filter, "GET", "/properties/1/applicants").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldIdentifyUnknownClientsByTheirAddress() throws IOException, ServletException {
+        var properties = new AdmissionControlProperties();
+        properties.setIngestion(new AdmissionControlProperties.Limit(0.001, 2));
+        properties.getClients().put("portal", new AdmissionControlProperties.Limit(0.001, 1));
+        var filter = new AdmissionControlFilter(properties, meterRegistry);
+
+        assertThat(sendIngestion(filter, "made-up").getStatus()).isEqualTo(200);
+        assertThat(sendIngestion(filter, "another-made-up").getStatus()).isEqualTo(200);
+        assertThat(sendIngestion(filter, null).getStatus()).isEqualTo(429);
+        //  a configured client has its own limit
+        assertThat(sendIngestion(filter, "portal").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldTakeATokenPerApplicantOfABatch() throws IOException, ServletException {
+        var properties = new AdmissionControlProperties();
+        properties.getClients().put("portal", new AdmissionControlProperties.Limit(0.001, 5));
+        var filter = new AdmissionControlFilter(properties, meterRegistry);
+        var bodies = new ArrayList<String>();
+
+        assertThat(sendBatch(filter, "[{\"email\": \"a@example.com\"}, {}, {\"tags\": [1, 2]}]", bodies).getStatus())
+                .isEqualTo(200);
+        assertThat(sendBatch(filter, "[{}, {}, {}]", bodies).getStatus()).isEqualTo(429);
+        assertThat(sendBatch(filter, "[{}, {}]", bodies).getStatus()).isEqualTo(200);
+        assertThat(sendIngestion(filter, "portal").getStatus()).isEqualTo(429);
+        //  the body can still be read by the controller
+        assertThat(bodies).containsExactly("[{\"email\": \"a@example.com\"}, {}, {\"tags\": [1, 2]}]", "[{}, {}]");
+    }
+
+    @Test
+    void shouldRejectBatchesThatAreTooLargeWithoutBufferingThem() throws IOException, ServletException {
+        var properties = new AdmissionControlProperties();
+        properties.setMaximumBatchSize(DataSize.ofBytes(10));
+        var filter = new AdmissionControlFilter(properties, meterRegistry);
+        var bodies = new ArrayList<String>();
+
+        assertThat(sendBatch(filter, "[{}, {}, {}]", bodies).getStatus()).isEqualTo(413);
+        //  a chunked body has no content length
+        var chunked = new MockHttpServletRequest("POST", "/properties/1/external-applicants/batch") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setContent("[{}, {}, {}]".getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(chunked, response, (req, res) -> bodies.add("read"));
+        assertThat(response.getStatus()).isEqualTo(413);
+
+        assertThat(sendBatch(filter, "[{}, {}]", bodies).getStatus()).isEqualTo(200);
+        assertThat(bodies).containsExactly("[{}, {}]");
+    }
+
+    @Test
+    void shouldNotBufferBatchesWhileTheBudgetIsUsedUp() throws IOException, ServletException {
+        var properties = new AdmissionControlProperties();
+        properties.setMaximumConcurrentWrites(1);
+        var filter = new AdmissionControlFilter(properties, meterRegistry);
+        var batch = new MockHttpServletRequest("POST", "/properties/1/external-applicants/batch");
+        batch.setContent("[{}]".getBytes(StandardCharsets.UTF_8));
+        var statusesWhileWriting = new ArrayList<Integer>();
+
+        FilterChain write = (request, response) -> {
+            var batchResponse = new MockHttpServletResponse();
+            filter.doFilter(batch, batchResponse, (req, res) -> {
+            });
+            statusesWhileWriting.add(batchResponse.getStatus());
+        };
+        filter.doFilter(new MockHttpServletRequest("POST", "/properties/1/applicants"), new MockHttpServletResponse(), write);
+
+        assertThat(statusesWhileWriting).containsExactly(429);
+        assertThat(batch.getInputStream().readAllBytes()).isEqualTo("[{}]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldNotifyReadListenersOfBufferedBatches() throws IOException, ServletException {
+        var filter = new AdmissionControlFilter(new AdmissionControlProperties(), meterRegistry);
+        var request = new MockHttpServletRequest("POST", "/properties/1/external-applicants/batch");
+        request.setContent("[{}]".getBytes(StandardCharsets.UTF_8));
+        var events = new ArrayList<String>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            var input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("all data read");
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    events.add("error");
+                }
+            });
+        });
+
+        assertThat(events).containsExactly("[{}]", "all data read");
+    }
+
+    private static MockHttpServletResponse sendBatch(AdmissionControlFilter filter, String body, List<String> bodies)
+            throws IOException, ServletException {
+        var request = new MockHttpServletRequest("POST", "/properties/1/external-applicants/batch");
+        request.addHeader("X-Client-Id", "portal");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) ->
+                bodies.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    private static MockHttpServletResponse sendIngestion(AdmissionControlFilter filter, String client)
+            throws IOException, ServletException {
+        var request = new MockHttpServletRequest("POST", "/properties/1/external-applicants");
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+        });
+        return response;
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String method, String path)
+            throws IOException, ServletException {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, (req, res) -> {
+        });
+        return response;
+    }
+}
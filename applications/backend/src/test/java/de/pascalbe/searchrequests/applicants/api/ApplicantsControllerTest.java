@@ -1,19 +1,33 @@
 package de.pascalbe.searchrequests.applicants.api;
 
+import de.pascalbe.searchrequests.applicants.domain.ApplicantDuplicateDetector;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIngestion;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantIngestionProperties;
+import de.pascalbe.searchrequests.applicants.domain.ApplicantListingCache;
 import de.pascalbe.searchrequests.applicants.domain.ApplicantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ApplicantsController.class)
+@Import(SimpleMeterRegistry.class)
 class ApplicantsControllerTest {
 
     private static final String CREATE_APPLICANT_ENDPOINT = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/applicants";
@@ -25,6 +39,18 @@ class ApplicantsControllerTest {
     @MockBean
     private ApplicantRepository repository;
 
+    @MockBean
+    private ApplicantListingCache listingCache;
+
+    @MockBean
+    private ApplicantDuplicateDetector duplicateDetector;
+
+    @MockBean
+    private ApplicantIngestion ingestion;
+
+    @MockBean
+    private ApplicantIngestionProperties ingestionProperties;
+
     @Test
     void shouldFailToCreateApplicantWithInvalidEmail() throws Exception {
         var requestBody = "{\"email\": \"invalid-email\", \"firstName\": \"John\", \"lastName\": \"Doe\"}";
@@ -90,4 +116,46 @@ class ApplicantsControllerTest {
         var endpoint = "/properties/not-a-uuid/applicants";
         this.mockMvc.perform(get(endpoint).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldFailToGetApplicantsWithAnInvalidCursor() throws Exception {
+        var endpoint = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/applicants";
+        this.mockMvc.perform(get(endpoint).queryParam("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldFailToGetApplicantsWithATooLargeLimit() throws Exception {
+        var endpoint = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/applicants";
+        this.mockMvc.perform(get(endpoint).queryParam("limit", "100000")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReportValidationErrorsPerItemOfAnExternalApplicantBatch() throws Exception {
+        var endpoint = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/external-applicants/batch";
+        var requestBody = "[{\"email\": \"john.doe@example.com\", \"lastName\": \"Doe\"}, {\"email\": \"invalid-email\", \"lastName\": \"Doe\"}]";
+        this.mockMvc.perform(post(endpoint).contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").isString())
+                .andExpect(jsonPath("$[0].errors").isEmpty())
+                .andExpect(jsonPath("$[1].id").doesNotExist())
+                .andExpect(jsonPath("$[1].errors[0]").value(startsWith("email")));
+    }
+
+    @Test
+    void shouldFailToCreateAnEmptyExternalApplicantBatch() throws Exception {
+        var endpoint = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/external-applicants/batch";
+        this.mockMvc.perform(post(endpoint).contentType(MediaType.APPLICATION_JSON).content("[]")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectExternalApplicantWhenIngestionIsFull() throws Exception {
+        when(ingestion.isEnabled()).thenReturn(true);
+        when(ingestion.accept(any())).thenReturn(Optional.empty());
+        when(ingestionProperties.getRetryAfter()).thenReturn(Duration.ofSeconds(2));
+
+        var endpoint = "/properties/6c54590a-04d4-46e6-b383-d1bc8be8e530/external-applicants";
+        this.mockMvc.perform(post(endpoint).contentType(MediaType.APPLICATION_JSON).content(VALID_REQUEST_BODY))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
 }
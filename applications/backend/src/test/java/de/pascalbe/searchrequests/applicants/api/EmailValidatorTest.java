@@ -0,0 +1,55 @@
+package de.pascalbe.searchrequests.applicants.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailValidatorTest {
+
+    private static final Pattern RFC_5322_PATTERN = Pattern.compile("^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$");
+
+    //  all characters the regex treats specially, a few that aren't allowed and some non-ASCII ones
+    private static final String ALPHABET = "aZ09@@..--_!#$%&'*+/=?`{|}~^ ()<>[]\\,;:\"\n\r\tä\u0080ÿKİ";
+
+    @Test
+    void shouldAcceptAndRejectTheSameEmailsAsTheRegexForEdgeCases() {
+        var emails = List.of("", "@", "a@", "@a", "a@a", "john.doe@example.com", "a@@a", "a@b@c", "a@a\n", "a\n@a",
+                "a@a ", " a@a", "a!#$%&'*+/=?`{|}~^.-_@a.-", "a@a_", "a@-", ".@.", "ä@a", "a@ä", "K@a", "K@a",
+                "a@a\u0000", "john.doe(at)example.com", "😀@a");
+        emails.forEach(this::assertSameResultAsRegex);
+    }
+
+    //  a property based test: random strings from the alphabet above (with a fixed seed, so that failures can be
+    //  reproduced) have to give the same result as the regex
+    @Test
+    void shouldAcceptAndRejectTheSameEmailsAsTheRegexForRandomStrings() {
+        var random = new Random(5322);
+        for (var run = 0; run < 200_000; run++) {
+            var email = new StringBuilder();
+            var length = random.nextInt(12);
+            for (var i = 0; i < length; i++) {
+                email.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            //  most random strings don't contain an @ at a valid position - make sure that many do
+            if (length > 0 && random.nextBoolean()) {
+                email.setCharAt(random.nextInt(length), '@');
+            }
+            assertSameResultAsRegex(email.toString());
+        }
+    }
+
+    @Test
+    void shouldAcceptNull() {
+        assertThat(new EmailValidator().isValid(null, null)).isTrue();
+    }
+
+    private void assertSameResultAsRegex(String email) {
+        assertThat(EmailValidator.isValidEmail(email))
+                .describedAs("valid email: %s", email)
+                .isEqualTo(RFC_5322_PATTERN.matcher(email).matches());
+    }
+}
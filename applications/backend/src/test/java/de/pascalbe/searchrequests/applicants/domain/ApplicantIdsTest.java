@@ -0,0 +1,62 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicantIdsTest {
+
+    @Test
+    void shouldCreateVersion7Ids() {
+        var id = ApplicantIds.next(0x0123_4567_89ABL);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.toString()).startsWith("01234567-89ab-7");
+    }
+
+    @Test
+    void shouldCreateIdsInTheOrderOfTheirCreationTime() {
+        var ids = new ArrayList<UUID>();
+        for (var millis = 0L; millis < 1000; millis++) {
+            //  includes timestamps that have the highest bit of the id set
+            ids.add(ApplicantIds.next(0x7FFF_FFFF_FF00L + millis));
+        }
+
+        assertThat(ids).isSortedAccordingTo(ApplicantIds.ORDER);
+        assertThat(ids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+    }
+
+    //  the order has to be the one of the string form (and of postgres), even for ids with the highest bit set
+    @Test
+    void shouldOrderIdsLikeTheirStringForm() {
+        var random = new Random(7);
+        for (var run = 0; run < 10_000; run++) {
+            var first = new UUID(random.nextLong(), random.nextLong());
+            var second = run % 2 == 0
+                    ? new UUID(first.getMostSignificantBits(), random.nextLong())
+                    : new UUID(random.nextLong(), random.nextLong());
+
+            assertThat(Integer.signum(ApplicantIds.ORDER.compare(first, second)))
+                    .describedAs("%s vs. %s", first, second)
+                    .isEqualTo(Integer.signum(first.toString().compareTo(second.toString())));
+        }
+    }
+
+    @Test
+    void shouldParseTheStringFormOfIds() {
+        var id = UUID.randomUUID();
+
+        assertThat(ApplicantIds.parse(id.toString())).contains(id);
+        assertThat(ApplicantIds.parse(id.toString().toUpperCase())).contains(id);
+        assertThat(ApplicantIds.parse("1-2-3-4-5")).isEmpty();
+        assertThat(ApplicantIds.parse("not-an-id")).isEmpty();
+        assertThat(ApplicantIds.parse(id.toString().replace('-', 'x'))).isEmpty();
+        assertThat(ApplicantIds.parse("")).isEmpty();
+    }
+}
@@ -0,0 +1,198 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicantPropertyIndexTest {
+
+    private static final UUID PROPERTY_ID = UUID.randomUUID();
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void shouldFindTheApplicantsNewestFirst() {
+        var index = new ApplicantPropertyIndex();
+        index.put(entry("a", 1, Status.CREATED, 2, true, false));
+        index.put(entry("b", 2, Status.INVITED, 2, false, false));
+        index.put(entry("c", 3, Status.CREATED, 3, true, true));
+
+        assertThat(index.findIds(filter().build(), null, 10)).containsExactly(id("c"), id("b"), id("a"));
+        assertThat(index.findIds(filter().status(Status.CREATED).build(), null, 10)).containsExactly(id("c"), id("a"));
+        assertThat(index.findIds(filter().wbsPresent(false).build(), null, 10)).containsExactly(id("b"));
+        assertThat(index.findIds(filter().numberOfPersons(2).pets(false).build(), null, 10))
+                .containsExactly(id("b"), id("a"));
+        assertThat(index.findIds(filter().numberOfPersons(4).build(), null, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepTheCreationOrderForApplicantsThatAreAddedLate() {
+        var index = new ApplicantPropertyIndex();
+        index.put(entry("a", 1, Status.CREATED, 1, true, false));
+        index.put(entry("c", 3, Status.CREATED, 1, true, false));
+        index.put(entry("b", 2, Status.CREATED, 1, false, false));
+
+        assertThat(index.findIds(filter().build(), null, 10)).containsExactly(id("c"), id("b"), id("a"));
+        assertThat(index.findIds(filter().wbsPresent(true).build(), null, 10)).containsExactly(id("c"), id("a"));
+    }
+
+    @Test
+    void shouldFindTheApplicantsAfterTheCursor() {
+        var index = new ApplicantPropertyIndex();
+        var a = entry("a", 1, Status.CREATED, 1, false, false);
+        var b = entry("b", 2, Status.CREATED, 1, false, false);
+        var c = entry("c", 3, Status.CREATED, 1, false, false);
+        List.of(a, b, c).forEach(index::put);
+
+        assertThat(index.findIds(filter().build(), cursor(c), 10)).containsExactly(id("b"), id("a"));
+        assertThat(index.findIds(filter().build(), cursor(c), 1)).containsExactly(id("b"));
+        assertThat(index.findIds(filter().build(), cursor(a), 10)).isEmpty();
+        //  an applicant that isn't indexed (anymore) is looked up by its creation timestamp
+        assertThat(index.findIds(filter().build(), new ApplicantCursor(START.plusSeconds(2).plusMillis(1), id("x")), 10))
+                .containsExactly(id("b"), id("a"));
+    }
+
+    @Test
+    void shouldUpdateTheAttributesOfIndexedApplicants() {
+        var index = new ApplicantPropertyIndex();
+        index.put(entry("a", 1, Status.CREATED, 1, false, false));
+        index.put(entry("b", 2, Status.CREATED, 1, false, false));
+
+        index.put(entry("a", 1, Status.INVITED, 3, true, true));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findIds(filter().status(Status.CREATED).build(), null, 10)).containsExactly(id("b"));
+        assertThat(index.findIds(filter().status(Status.INVITED).numberOfPersons(3).wbsPresent(true).pets(true).build(),
+                null, 10)).containsExactly(id("a"));
+        assertThat(index.findIds(filter().numberOfPersons(1).build(), null, 10)).containsExactly(id("b"));
+    }
+
+    @Test
+    void shouldChangeTheStatusOfIndexedApplicants() {
+        var index = new ApplicantPropertyIndex();
+        index.put(entry("a", 1, Status.CREATED, 2, true, false));
+        index.put(entry("b", 2, Status.CREATED, 2, true, false));
+
+        index.changeStatus(id("a"), Status.DECLINED);
+        index.changeStatus(id("x"), Status.DECLINED);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findIds(filter().status(Status.DECLINED).build(), null, 10)).containsExactly(id("a"));
+        assertThat(index.findIds(filter().status(Status.CREATED).numberOfPersons(2).wbsPresent(true).build(), null, 10))
+                .containsExactly(id("b"));
+    }
+
+    @Test
+    void shouldRemoveApplicants() {
+        var index = new ApplicantPropertyIndex();
+        index.put(entry("a", 1, Status.CREATED, 1, true, false));
+        index.put(entry("b", 2, Status.CREATED, 1, true, false));
+        index.put(entry("c", 3, Status.CREATED, 1, true, false));
+        index.put(entry("d", 4, Status.DECLINED, 2, false, false));
+
+        index.removeAll(List.of(id("b"), id("d"), id("x")));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findIds(filter().wbsPresent(true).build(), null, 10)).containsExactly(id("c"), id("a"));
+        assertThat(index.findIds(filter().numberOfPersons(2).build(), null, 10)).isEmpty();
+    }
+
+    //  random changes (with a fixed seed, so that failures can be reproduced) have to give the same results as
+    //  filtering and sorting all applicants
+    @Test
+    void shouldFindTheSameApplicantsAsFilteringAllOfThem() {
+        var random = new Random(42);
+        var index = new ApplicantPropertyIndex();
+        var applicants = new LinkedHashMap<UUID, ApplicantIndexEntry>();
+        for (var run = 0; run < 2_000; run++) {
+            if (!applicants.isEmpty() && random.nextInt(4) == 0) {
+                var ids = new ArrayList<>(applicants.keySet());
+                var existing = applicants.get(ids.get(random.nextInt(ids.size())));
+                var updated = randomEntry(random, existing.getId(), existing.getCreationTimestamp());
+                applicants.put(updated.getId(), updated);
+                index.put(updated);
+            } else {
+                //  mostly in creation order, but not always
+                var creationTimestamp = START.plusMillis(run * 10L - (random.nextInt(10) == 0 ? random.nextInt(500) : 0));
+                var created = randomEntry(random, id("applicant-" + run), creationTimestamp);
+                applicants.put(created.getId(), created);
+                index.put(created);
+            }
+
+            var filter = randomFilter(random);
+            var expected = newestFirst(applicants).stream()
+                    .filter(applicant -> matches(applicant, filter))
+                    .collect(Collectors.toList());
+            var after = expected.isEmpty() || random.nextBoolean() ? null : expected.get(random.nextInt(expected.size()));
+            var limit = 1 + random.nextInt(20);
+
+            var expectedIds = expected.stream()
+                    .filter(applicant -> after == null || newestFirstOrder().compare(applicant, after) > 0)
+                    .limit(limit)
+                    .map(ApplicantIndexEntry::getId)
+                    .collect(Collectors.toList());
+            assertThat(index.findIds(filter, after == null ? null : cursor(after), limit)).isEqualTo(expectedIds);
+        }
+    }
+
+    private static ApplicantFilter.ApplicantFilterBuilder filter() {
+        return ApplicantFilter.builder().propertyId(PROPERTY_ID);
+    }
+
+    private static ApplicantIndexEntry entry(String id, int second, Status status, int numberOfPersons,
+                                             boolean wbsPresent, boolean pets) {
+        return new ApplicantIndexEntry(id(id), PROPERTY_ID, START.plusSeconds(second), status, numberOfPersons,
+                wbsPresent, pets);
+    }
+
+    //  name based, so that the ids are random (and about half of them have the highest bit set)
+    private static UUID id(String name) {
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ApplicantCursor cursor(ApplicantIndexEntry entry) {
+        return new ApplicantCursor(entry.getCreationTimestamp(), entry.getId());
+    }
+
+    private static ApplicantIndexEntry randomEntry(Random random, UUID id, Instant creationTimestamp) {
+        return new ApplicantIndexEntry(id, PROPERTY_ID, creationTimestamp,
+                Status.values()[random.nextInt(Status.values().length)], 1 + random.nextInt(4),
+                random.nextBoolean(), random.nextBoolean());
+    }
+
+    private static ApplicantFilter randomFilter(Random random) {
+        return filter()
+                .status(random.nextBoolean() ? Status.values()[random.nextInt(Status.values().length)] : null)
+                .numberOfPersons(random.nextBoolean() ? 1 + random.nextInt(5) : null)
+                .wbsPresent(random.nextBoolean() ? random.nextBoolean() : null)
+                .pets(random.nextBoolean() ? random.nextBoolean() : null)
+                .build();
+    }
+
+    private static boolean matches(ApplicantIndexEntry applicant, ApplicantFilter filter) {
+        return (filter.getStatus() == null || filter.getStatus() == applicant.getStatus())
+                && (filter.getNumberOfPersons() == null || filter.getNumberOfPersons() == applicant.getNumberOfPersons())
+                && (filter.getWbsPresent() == null || filter.getWbsPresent() == applicant.isWbsPresent())
+                && (filter.getPets() == null || filter.getPets() == applicant.isPets());
+    }
+
+    private static List<ApplicantIndexEntry> newestFirst(Map<UUID, ApplicantIndexEntry> applicants) {
+        return applicants.values().stream().sorted(newestFirstOrder()).collect(Collectors.toList());
+    }
+
+    private static Comparator<ApplicantIndexEntry> newestFirstOrder() {
+        return Comparator.comparing(ApplicantIndexEntry::getCreationTimestamp)
+                .thenComparing(ApplicantIndexEntry::getId, ApplicantIds.ORDER)
+                .reversed();
+    }
+}
@@ -0,0 +1,60 @@
+package de.pascalbe.searchrequests.applicants.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicantSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSpoolConcurrentlyAppendedApplicants() throws Exception {
+        var spool = new ApplicantSpool(directory, 100, new ObjectMapper());
+        spool.open();
+
+        var executor = Executors.newFixedThreadPool(8);
+        var appends = new ArrayList<Future<ApplicantSpool.Segment>>();
+        for (var i = 0; i < 250; i++) {
+            var applicant = new Applicant();
+            applicant.setId(UUID.randomUUID());
+            applicant.setEmail("applicant-" + i + "@example.com");
+            appends.add(executor.submit((Callable<ApplicantSpool.Segment>) () -> spool.append(applicant)));
+        }
+        for (var append : appends) {
+            append.get();
+        }
+        executor.shutdown();
+        spool.close();
+
+        //  segments are rotated after 100 applicants
+        var segments = spool.findSegments();
+        assertThat(segments).hasSize(3);
+        assertThat(segments.stream().mapToInt(segment -> spool.read(segment).size()).sum()).isEqualTo(250);
+    }
+
+    @Test
+    void shouldDeleteSegmentsOnceAllOfTheirApplicantsAreStored() throws Exception {
+        var spool = new ApplicantSpool(directory, 1, new ObjectMapper());
+        spool.open();
+
+        var applicant = new Applicant();
+        applicant.setId(UUID.randomUUID());
+        var segment = spool.append(applicant);
+        spool.append(applicant);
+        spool.stored(segment);
+        spool.close();
+
+        assertThat(spool.findSegments()).hasSize(1);
+    }
+}